@@ -0,0 +1,74 @@
+package com.example.mentoring.benchmark;
+
+import com.example.mentoring.entity.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 벤치마크용 고정 시드 데이터.
+ * 스킬은 skill0..skill{N-1} 중 Zipf 분포(앞쪽 스킬이 흔함)로 멘토마다 1~5개를 뽑는다.
+ */
+final class BenchmarkData {
+    static final long SEED = 42L;
+    // cost 4 bcrypt 해시 (비밀번호는 벤치마크에서 검증하지 않음)
+    static final String PASSWORD_HASH = "$2a$04$caJRtEERqnUp8dPaxtBWyOZNk/a8MKS/ZnRxsrnijqTgcwU1EUc6i";
+
+    private BenchmarkData() {
+    }
+
+    static List<User> mentors(int count, int skillCardinality) {
+        Random random = new Random(SEED);
+        double[] cumulative = zipf(skillCardinality);
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User user = new User("mentor" + i + "@bench.local", PASSWORD_HASH, "mentor", "Mentor " + randomName(random));
+            user.setTechStack(techStack(random, cumulative, 1 + random.nextInt(5)));
+            users.add(user);
+        }
+        return users;
+    }
+
+    static String techStack(Random random, double[] cumulative, int skills) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < skills; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append("skill").append(sample(random, cumulative));
+        }
+        return sb.toString();
+    }
+
+    static double[] zipf(int n) {
+        double[] cumulative = new double[n];
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += 1.0 / (i + 1);
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cumulative[i] /= sum;
+        }
+        return cumulative;
+    }
+
+    static int sample(Random random, double[] cumulative) {
+        double r = random.nextDouble();
+        int lo = 0;
+        int hi = cumulative.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (cumulative[mid] < r) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private static String randomName(Random random) {
+        char[] name = new char[8];
+        for (int i = 0; i < name.length; i++) {
+            name[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(name);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.mentoring.benchmark;
+
+import com.example.mentoring.security.JwtTokenProvider;
+import com.example.mentoring.security.TokenRevocationStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 토큰 발급과 검증. claimsCacheSize=0이면 매번 서명 검증/파싱, 그 외에는 같은 토큰 재검증이 캐시 적중.
+ */
+@State(Scope.Benchmark)
+public class JwtTokenProviderBenchmark {
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+    @Param({"0", "10000"})
+    public long claimsCacheSize;
+
+    // 검증에 돌려 쓰는 서로 다른 토큰 수 (동시 접속 사용자 수에 해당)
+    @Param({"1000"})
+    public int activeTokens;
+
+    private JwtTokenProvider provider;
+    private String[] tokens;
+
+    @Setup
+    public void setUp() {
+        provider = new JwtTokenProvider(SECRET, claimsCacheSize, 3_600_000L, 1_209_600_000L,
+            new TokenRevocationStore(60_000L), new SimpleMeterRegistry());
+        tokens = new String[activeTokens];
+        for (int i = 0; i < activeTokens; i++) {
+            tokens[i] = provider.generateToken((long) i, "user" + i + "@bench.local", "User " + i, "mentee");
+        }
+    }
+
+    @Benchmark
+    public String generateToken() {
+        long id = ThreadLocalRandom.current().nextLong(1_000_000);
+        return provider.generateToken(id, "user" + id + "@bench.local", "User", "mentor");
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return provider.validateToken(tokens[ThreadLocalRandom.current().nextInt(tokens.length)]);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.mentoring.benchmark;
+
+import com.example.mentoring.security.SlidingWindowRateLimiter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+// 로그인 시도 제한 카운터. keyCount가 크면 크리덴셜 스터핑처럼 키가 계속 바뀌는 경우
+@State(Scope.Benchmark)
+public class LoginRateLimiterBenchmark {
+    @Param({"100", "1000000"})
+    public int keyCount;
+
+    private SlidingWindowRateLimiter limiter;
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        limiter = new SlidingWindowRateLimiter(10, Duration.ofMinutes(1), 100_000);
+        keys = new String[Math.min(keyCount, 100_000)];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = "10.0." + (i >> 8) + "." + (i & 0xFF);
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long tryAcquire() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        // 키 수가 배열보다 크면 새 문자열 키를 만들어 최대 키 수 제한과 축출 비용까지 포함한다
+        String key = keyCount <= keys.length ? keys[random.nextInt(keys.length)] : "k" + random.nextInt(keyCount);
+        return limiter.tryAcquire(key);
+    }
+}
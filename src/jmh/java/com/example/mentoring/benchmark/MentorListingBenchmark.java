@@ -0,0 +1,89 @@
+package com.example.mentoring.benchmark;
+
+import com.example.mentoring.MentoringApplication;
+import com.example.mentoring.metrics.QueryCounter;
+import com.example.mentoring.repository.UserRepository;
+import com.example.mentoring.service.MentorDirectoryCache;
+import com.example.mentoring.service.MentorPage;
+import com.example.mentoring.service.SkillIndex;
+import com.example.mentoring.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * UserService.findMentors 전체 경로 (인메모리 H2 + 실제 빈, 요청은 HTTP 없이 서비스 직접 호출).
+ * cached: 같은 조건 반복(페이지/카드 캐시 적중), 나머지는 매번 페이지 캐시를 비워 DB/색인 경로를 잰다.
+ */
+@State(Scope.Benchmark)
+public class MentorListingBenchmark {
+    @Param({"1000", "10000"})
+    public int userCount;
+
+    @Param({"10", "1000"})
+    public int skillCardinality;
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private MentorDirectoryCache directoryCache;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(MentoringApplication.class)
+            // 보안 설정이 MVC 빈을 필요로 하므로 웹 컨텍스트로 띄우되 임의 포트 사용
+            .run("--server.port=0",
+                "--management.server.port=-1",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--spring.datasource.url=jdbc:h2:mem:bench-" + userCount + "-" + skillCardinality,
+                "--upload.dir=build/jmh-uploads");
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        userRepository.saveAll(BenchmarkData.mentors(userCount, skillCardinality));
+        context.getBean(SkillIndex.class).rebuild();
+        userService = context.getBean(UserService.class);
+        directoryCache = context.getBean(MentorDirectoryCache.class);
+        // 캐시가 빈 상태의 목록 조회가 SQL 2개(페이지 + 카드 일괄)를 넘으면 측정 전에 실패시킨다
+        QueryCounter.Scope scope = QueryCounter.start(true);
+        try {
+            userService.findMentors(null, null, "name", null, 20);
+        } finally {
+            QueryCounter.stop(scope);
+        }
+        if (scope.count() > 2) {
+            throw new IllegalStateException("SQL " + scope.count() + "개 실행 (허용 2개): " + scope.statements());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MentorPage cached() {
+        return userService.findMentors("skill0", null, null, null, 20);
+    }
+
+    @Benchmark
+    public MentorPage skillIndexById() {
+        directoryCache.invalidatePages();
+        return userService.findMentors("skill0,skill1", "any", null, null, 20);
+    }
+
+    @Benchmark
+    public MentorPage sortedByName() {
+        directoryCache.invalidatePages();
+        return userService.findMentors("skill1", null, "name", null, 20);
+    }
+
+    @Benchmark
+    public MentorPage unfilteredByName() {
+        directoryCache.invalidatePages();
+        return userService.findMentors(null, null, "name", null, 20);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.mentoring.benchmark;
+
+import com.example.mentoring.dto.MentorResponse;
+import com.example.mentoring.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+
+// 멘토 카드 생성 비용 (techStack 분리 포함). 캐시 미스 한 페이지를 만드는 비용에 해당
+@State(Scope.Benchmark)
+public class MentorResponseBenchmark {
+    @Param({"20", "100"})
+    public int pageSize;
+
+    @Param({"10", "1000"})
+    public int skillCardinality;
+
+    private List<User> page;
+
+    @Setup
+    public void setUp() {
+        page = BenchmarkData.mentors(pageSize, skillCardinality);
+    }
+
+    @Benchmark
+    public void buildPage(Blackhole bh) {
+        for (User user : page) {
+            bh.consume(new MentorResponse(user));
+        }
+    }
+}
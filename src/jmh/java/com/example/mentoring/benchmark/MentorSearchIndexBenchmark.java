@@ -0,0 +1,56 @@
+package com.example.mentoring.benchmark;
+
+import com.example.mentoring.entity.User;
+import com.example.mentoring.service.MentorSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 자유어 검색 상위 20개 (BM25 + 크기 k 힙). 질의는 Zipf 스킬 2개 + 이름 단어 하나라서 흔한 단어의 긴 posting을 훑는 경우가 섞인다.
+ */
+@State(Scope.Benchmark)
+public class MentorSearchIndexBenchmark {
+    @Param({"10000", "100000"})
+    public int userCount;
+
+    @Param({"10", "1000"})
+    public int skillCardinality;
+
+    private MentorSearchIndex index;
+    private List<String> queries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        index = new MentorSearchIndex();
+        long id = 1;
+        for (User user : BenchmarkData.mentors(userCount, skillCardinality)) {
+            index.index(id++, user.getName(), "Backend mentor", user.getTechStack());
+        }
+        Random random = new Random(BenchmarkData.SEED + 2);
+        double[] cumulative = BenchmarkData.zipf(skillCardinality);
+        queries = new ArrayList<>();
+        for (int i = 0; i < 1024; i++) {
+            queries.add(BenchmarkData.techStack(random, cumulative, 2).replace(",", "") + " mentor");
+        }
+    }
+
+    @Benchmark
+    public long[] topTwenty() {
+        next = (next + 1) & 1023;
+        return index.search(queries.get(next), 0, 20);
+    }
+
+    @Benchmark
+    public void reindexOne() {
+        next = (next + 1) & 1023;
+        index.index(1 + next, "Mentor Updated", "Backend mentor", queries.get(next).replace(" mentor", "").replace(" ", ", "));
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.mentoring.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+// bcrypt cost별 해시/검증 시간 (security.bcrypt.strength와 bcrypt 풀 크기 산정용)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PasswordHashingBenchmark {
+    @Param({"4", "10", "12"})
+    public int strength;
+
+    private BCryptPasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        encoder = new BCryptPasswordEncoder(strength);
+        hash = encoder.encode("benchmark-password");
+    }
+
+    @Benchmark
+    public String encode() {
+        return encoder.encode("benchmark-password");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches("benchmark-password", hash);
+    }
+}
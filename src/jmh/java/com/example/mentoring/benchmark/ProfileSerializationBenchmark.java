@@ -0,0 +1,46 @@
+package com.example.mentoring.benchmark;
+
+import com.example.mentoring.dto.ProfileResponse;
+import com.example.mentoring.entity.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/**
+ * 프로필 응답 직렬화: 예전처럼 User 엔티티를 그대로 쓰는 경우와 ProfileResponse DTO.
+ * 엔티티는 비밀번호 해시와 정규화 이메일까지 내보내므로 응답이 크고 쓰는 바이트만큼 할당도 늘어난다.
+ * op당 할당 바이트는 GC 프로파일러의 gc.alloc.rate.norm으로 본다:
+ * ./gradlew jmh -Pjmh.includes=ProfileSerialization -Pjmh.profilers=gc
+ */
+@State(Scope.Benchmark)
+public class ProfileSerializationBenchmark {
+    private ObjectWriter writer;
+    private User user;
+    private ProfileResponse profile;
+
+    @Setup
+    public void setUp() {
+        writer = new ObjectMapper().writer();
+        List<User> users = BenchmarkData.mentors(1, 100);
+        user = users.get(0);
+        user.setBio("백엔드 개발 10년차, 스프링과 JPA 성능 튜닝을 주로 합니다.");
+        user.setProfileImageUrl("/uploads/ab/cd/" + "abcd".repeat(16) + ".png");
+        profile = ProfileResponse.from(user);
+    }
+
+    @Benchmark
+    public byte[] entity() throws JsonProcessingException {
+        return writer.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public byte[] dto() throws JsonProcessingException {
+        return writer.writeValueAsBytes(profile);
+    }
+}
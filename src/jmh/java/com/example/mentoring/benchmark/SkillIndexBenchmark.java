@@ -0,0 +1,69 @@
+package com.example.mentoring.benchmark;
+
+import com.example.mentoring.entity.User;
+import com.example.mentoring.service.SkillIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * 스킬 역색인 AND/OR 조회와 증분 갱신. 질의 스킬은 데이터와 같은 Zipf 분포에서 2개씩 뽑는다.
+ */
+@State(Scope.Benchmark)
+public class SkillIndexBenchmark {
+    @Param({"10000", "100000"})
+    public int userCount;
+
+    @Param({"10", "1000"})
+    public int skillCardinality;
+
+    private SkillIndex index;
+    private List<Set<String>> queries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        index = new SkillIndex();
+        long id = 1;
+        for (User user : BenchmarkData.mentors(userCount, skillCardinality)) {
+            index.update(id++, Collections.emptySet(), user.getSkills());
+        }
+        Random random = new Random(BenchmarkData.SEED + 1);
+        double[] cumulative = BenchmarkData.zipf(skillCardinality);
+        queries = new ArrayList<>();
+        for (int i = 0; i < 1024; i++) {
+            queries.add(User.parseSkills(BenchmarkData.techStack(random, cumulative, 2)));
+        }
+    }
+
+    private Set<String> nextQuery() {
+        next = (next + 1) & 1023;
+        return queries.get(next);
+    }
+
+    @Benchmark
+    public long[] matchAll() {
+        return index.matchAll(nextQuery());
+    }
+
+    @Benchmark
+    public long[] matchAny() {
+        return index.matchAny(nextQuery());
+    }
+
+    @Benchmark
+    public void updateSkills() {
+        long id = 1 + (next & 1023);
+        Set<String> query = nextQuery();
+        index.update(id, Collections.emptySet(), query);
+        index.update(id, query, Collections.emptySet());
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.mentoring.loadtest;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * 부하 테스트용 대량 데이터 (임베디드 서버 DB에 JDBC 배치로 직접 기록, 가입 API/bcrypt를 거치지 않음).
+ * - 멘토/멘티 이메일: lt-mentor{i}@load.test, lt-mentee{i}@load.test, 비밀번호는 모두 PASSWORD
+ * - 스킬: 실제로 흔한 스킬 이름 + skill-N, Zipf 분포(앞쪽일수록 흔함)로 멘토마다 1~6개
+ */
+final class DatasetSeeder {
+    static final String PASSWORD = "loadtest-pass";
+    private static final int BATCH = 1000;
+    private static final String[] COMMON_SKILLS = {
+        "java", "spring", "javascript", "react", "python", "typescript", "sql", "aws", "docker", "kubernetes",
+        "node.js", "go", "kotlin", "vue", "django", "redis", "kafka", "android", "swift", "c++",
+        "rust", "graphql", "terraform", "linux", "mysql", "postgresql", "mongodb", "flutter", "next.js", "git"
+    };
+
+    private final JdbcTemplate jdbc;
+    private final String passwordHash;
+    private final Random random = new Random(20240601L);
+    private final String[] skills;
+    private final double[] cumulative;
+
+    DatasetSeeder(JdbcTemplate jdbc, int bcryptStrength, int skillCardinality) {
+        this.jdbc = jdbc;
+        // 전원 같은 비밀번호이므로 해시는 한 번만 (로그인 시 bcrypt 비용은 설정한 cost 그대로)
+        this.passwordHash = new BCryptPasswordEncoder(bcryptStrength).encode(PASSWORD);
+        this.skills = skillNames(skillCardinality);
+        this.cumulative = zipfCumulative(skillCardinality);
+    }
+
+    static String[] skillNames(int cardinality) {
+        String[] names = new String[cardinality];
+        for (int i = 0; i < cardinality; i++) {
+            names[i] = i < COMMON_SKILLS.length ? COMMON_SKILLS[i] : "skill-" + i;
+        }
+        return names;
+    }
+
+    // 순위 i(0부터)의 가중치 1/(i+1)를 누적해 정규화한 분포
+    static double[] zipfCumulative(int cardinality) {
+        double[] cumulative = new double[cardinality];
+        double sum = 0;
+        for (int i = 0; i < cardinality; i++) {
+            sum += 1.0 / (i + 1);
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < cardinality; i++) {
+            cumulative[i] /= sum;
+        }
+        return cumulative;
+    }
+
+    static int sampleIndex(double[] cumulative, double r) {
+        int lo = 0;
+        int hi = cumulative.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (cumulative[mid] < r) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    String[] getSkills() {
+        return skills;
+    }
+
+    /**
+     * 멘토 id 범위 [first, first + mentors), 멘티는 그 뒤에 이어진다. 첫 멘토 id를 반환.
+     */
+    long seed(int mentors, int mentees) {
+        // 앱이 이미 할당받은 id 블록 뒤에서 시작하고, 끝나면 시퀀스를 데이터 뒤로 옮긴다 (allocationSize 50)
+        long first = jdbc.queryForObject("select next value for users_seq", Long.class) + 100;
+        long id = first;
+        List<Object[]> users = new ArrayList<>(BATCH);
+        List<Object[]> userSkills = new ArrayList<>(BATCH * 3);
+        for (int i = 0; i < mentors; i++, id++) {
+            Set<String> mentorSkills = pickSkills(1 + random.nextInt(6));
+            String email = "lt-mentor" + i + "@load.test";
+            users.add(new Object[]{id, email, email, passwordHash, "mentor", "Mentor " + name(), "부하 테스트 멘토입니다.",
+                String.join(", ", mentorSkills)});
+            for (String skill : mentorSkills) {
+                userSkills.add(new Object[]{id, skill});
+            }
+            if (users.size() >= BATCH) flush(users, userSkills);
+        }
+        for (int i = 0; i < mentees; i++, id++) {
+            String email = "lt-mentee" + i + "@load.test";
+            users.add(new Object[]{id, email, email, passwordHash, "mentee", "Mentee " + name(), null, null});
+            if (users.size() >= BATCH) flush(users, userSkills);
+        }
+        flush(users, userSkills);
+        jdbc.execute("alter sequence users_seq restart with " + (id + 100));
+        return first;
+    }
+
+    private void flush(List<Object[]> users, List<Object[]> userSkills) {
+        if (!users.isEmpty()) {
+            jdbc.batchUpdate("insert into users (id, email, email_canonical, password, role, name, bio, tech_stack)"
+                + " values (?, ?, ?, ?, ?, ?, ?, ?)", users);
+            users.clear();
+        }
+        if (!userSkills.isEmpty()) {
+            jdbc.batchUpdate("insert into user_skills (user_id, skill) values (?, ?)", userSkills);
+            userSkills.clear();
+        }
+    }
+
+    Set<String> pickSkills(int count) {
+        Set<String> picked = new LinkedHashSet<>();
+        while (picked.size() < Math.min(count, skills.length)) {
+            picked.add(skills[sampleIndex(cumulative, random.nextDouble())]);
+        }
+        return picked;
+    }
+
+    private String name() {
+        char[] name = new char[6];
+        for (int i = 0; i < name.length; i++) {
+            name[i] = (char) ('a' + random.nextInt(26));
+        }
+        name[0] = Character.toUpperCase(name[0]);
+        return new String(name);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.mentoring.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 작업 하나의 지연 시간, 상태 코드, 응답 본문 바이트 기록 (가상 사용자 스레드마다 하나씩 두고 끝에 합친다).
+ */
+final class LatencyRecorder {
+    private long[] samples = new long[1024];
+    private int count;
+    private long bytes;
+    private final Map<Integer, Long> statuses = new TreeMap<>();
+
+    void record(long nanos, int status, long bodyBytes) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+        bytes += bodyBytes;
+        statuses.merge(status, 1L, Long::sum);
+    }
+
+    void merge(LatencyRecorder other) {
+        if (count + other.count > samples.length) {
+            samples = Arrays.copyOf(samples, count + other.count);
+        }
+        System.arraycopy(other.samples, 0, samples, count, other.count);
+        count += other.count;
+        bytes += other.bytes;
+        other.statuses.forEach((status, n) -> statuses.merge(status, n, Long::sum));
+    }
+
+    int count() {
+        return count;
+    }
+
+    long errors() {
+        // 0은 연결 실패/타임아웃, 5xx는 서버 오류
+        long errors = 0;
+        for (Map.Entry<Integer, Long> e : statuses.entrySet()) {
+            if (e.getKey() == 0 || e.getKey() >= 500) errors += e.getValue();
+        }
+        return errors;
+    }
+
+    Map<String, Object> summary(double seconds) {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("requests", count);
+        m.put("throughput", round(count / seconds));
+        m.put("p50Ms", millis(percentile(sorted, 0.50)));
+        m.put("p90Ms", millis(percentile(sorted, 0.90)));
+        m.put("p99Ms", millis(percentile(sorted, 0.99)));
+        m.put("p999Ms", millis(percentile(sorted, 0.999)));
+        m.put("maxMs", millis(count == 0 ? 0 : sorted[count - 1]));
+        m.put("errors", errors());
+        m.put("bytes", bytes);
+        m.put("bytesPerRequest", count == 0 ? 0 : bytes / count);
+        m.put("statuses", new LinkedHashMap<>(statuses));
+        return m;
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double millis(long nanos) {
+        return round(nanos / 1_000_000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
@@ -0,0 +1,295 @@
+package com.example.mentoring.loadtest;
+
+import com.example.mentoring.MentoringApplication;
+import com.example.mentoring.service.MentorSearchIndex;
+import com.example.mentoring.service.SkillIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * HTTP 부하 테스트: 임베디드 서버를 띄우고 대량 데이터를 시드한 뒤, 가상 사용자들이 정해진 비율의
+ * 작업(검색/자유어 검색/로그인/가입/프로필 수정/매칭 요청/이미지 업로드/이미지 서빙)을 닫힌 루프로 보내
+ * 처리량과 지연 분위수, 응답 본문 바이트를 보고한다.
+ * 이미지 서빙은 전체 응답(serve, 200), ETag 재검증(revalidate, 304), 앞 1KB Range(range, 206)로 나눠 기록한다.
+ *
+ * 옵션 (--key=value): mentors, mentees, skills, concurrency, duration(초), warmup(초),
+ * mix(예: search:50,text:10,login:10,signup:5,profile:10,match:10,upload:5,serve:5,revalidate:5,range:2),
+ * out(JSON 결과 경로),
+ * target(이미 떠 있는 서버 주소, 이 경우 시드하지 않으며 first-id로 시드된 첫 멘토 id를 넘긴다).
+ * 임베디드 서버로 실행하면 끝날 때 /actuator/prometheus 스냅샷을 결과 옆(metrics.prom)에 저장한다.
+ * 그 밖의 --옵션은 그대로 스프링에 전달된다 (예: --security.bcrypt.strength=4).
+ * 결과의 config.javaVersion에 실행 런타임을 남긴다.
+ */
+public final class LoadTest {
+    private static final String DEFAULT_MIX = "search:50,text:10,login:10,signup:5,profile:10,match:10,upload:5,"
+        + "serve:5,revalidate:5,range:2";
+
+    static final class Config {
+        int mentors = 10_000;
+        int mentees = 10_000;
+        int concurrency = 32;
+        int durationSeconds = 60;
+        int warmupSeconds = 10;
+        String mix = DEFAULT_MIX;
+        String out = "build/reports/loadtest/result.json";
+        String target;
+        long firstId;
+        String[] skills;
+        double[] skillCumulative;
+        int skillCardinality = 200;
+        final List<String> springArgs = new ArrayList<>();
+    }
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Config config = parse(args);
+        ConfigurableApplicationContext context = null;
+        if (config.target == null) {
+            context = startServer(config);
+        } else {
+            // 외부 서버는 같은 시드/스킬 분포로 이미 채워져 있다고 가정
+            config.skills = DatasetSeeder.skillNames(config.skillCardinality);
+            config.skillCumulative = DatasetSeeder.zipfCumulative(config.skillCardinality);
+        }
+        try {
+            Map<String, Object> result = run(config);
+            print(result);
+            Path out = Paths.get(config.out);
+            write(result, out);
+            if (context != null) {
+                saveMetrics(context, out.resolveSibling("metrics.prom"));
+            }
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startServer(Config config) {
+        List<String> springArgs = new ArrayList<>();
+        springArgs.add("--server.port=0");
+        springArgs.add("--management.server.port=0");
+        springArgs.add("--logging.level.root=WARN");
+        springArgs.add("--upload.dir=build/loadtest/uploads");
+        // 모든 가상 사용자가 같은 IP로 오므로 로그인 제한은 사실상 끈다
+        springArgs.add("--security.login-rate.ip-limit=1000000000");
+        springArgs.add("--security.login-rate.email-limit=1000000000");
+        springArgs.addAll(config.springArgs);
+        ConfigurableApplicationContext context = SpringApplication.run(MentoringApplication.class,
+            springArgs.toArray(new String[0]));
+        int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+        config.target = "http://localhost:" + port;
+
+        int strength = context.getEnvironment().getProperty("security.bcrypt.strength", Integer.class, 10);
+        DatasetSeeder seeder = new DatasetSeeder(context.getBean(JdbcTemplate.class), strength, config.skillCardinality);
+        long start = System.nanoTime();
+        config.firstId = seeder.seed(config.mentors, config.mentees);
+        config.skills = seeder.getSkills();
+        config.skillCumulative = DatasetSeeder.zipfCumulative(config.skillCardinality);
+        // JDBC로 직접 넣었으므로 메모리 인덱스를 다시 맞춘다 (SkillIndex 재구성이 페이지 캐시도 비운다)
+        context.getBean(SkillIndex.class).rebuild();
+        context.getBean(MentorSearchIndex.class).rebuild();
+        System.out.printf("seeded %d mentors, %d mentees in %.1fs (first mentor id %d)%n",
+            config.mentors, config.mentees, (System.nanoTime() - start) / 1e9, config.firstId);
+        return context;
+    }
+
+    private static Map<String, Object> run(Config config) throws InterruptedException {
+        System.out.printf("java %s%n", System.getProperty("java.version"));
+        VirtualUser.Op[] schedule = schedule(config.mix);
+        byte[][] images = images(16);
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(Math.max(2, config.concurrency / 4));
+        HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(clientExecutor)
+            .build();
+        long now = System.nanoTime();
+        long warmupEnd = now + Duration.ofSeconds(config.warmupSeconds).toNanos();
+        long end = warmupEnd + Duration.ofSeconds(config.durationSeconds).toNanos();
+
+        List<VirtualUser> users = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < config.concurrency; i++) {
+            VirtualUser user = new VirtualUser(i, config, client, schedule, images, warmupEnd, end);
+            Thread thread = new Thread(user, "vu-" + i);
+            users.add(user);
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        clientExecutor.shutdown();
+
+        Map<VirtualUser.Op, LatencyRecorder> merged = new EnumMap<>(VirtualUser.Op.class);
+        LatencyRecorder total = new LatencyRecorder();
+        for (VirtualUser user : users) {
+            user.getRecorders().forEach((op, recorder) -> {
+                merged.computeIfAbsent(op, k -> new LatencyRecorder()).merge(recorder);
+                total.merge(recorder);
+            });
+        }
+
+        Map<String, Object> configSummary = new LinkedHashMap<>();
+        configSummary.put("target", config.target);
+        configSummary.put("mentors", config.mentors);
+        configSummary.put("mentees", config.mentees);
+        configSummary.put("skills", config.skillCardinality);
+        configSummary.put("concurrency", config.concurrency);
+        configSummary.put("durationSeconds", config.durationSeconds);
+        configSummary.put("warmupSeconds", config.warmupSeconds);
+        configSummary.put("mix", config.mix);
+        configSummary.put("springArgs", config.springArgs);
+        configSummary.put("javaVersion", System.getProperty("java.version"));
+
+        Map<String, Object> operations = new LinkedHashMap<>();
+        merged.forEach((op, recorder) -> {
+            if (recorder.count() > 0) {
+                operations.put(op.name().toLowerCase(), recorder.summary(config.durationSeconds));
+            }
+        });
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("config", configSummary);
+        result.put("total", total.summary(config.durationSeconds));
+        result.put("operations", operations);
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void print(Map<String, Object> result) {
+        System.out.printf("%-10s %9s %9s %9s %9s %9s %9s %9s %7s %9s%n",
+            "op", "requests", "req/s", "p50(ms)", "p90(ms)", "p99(ms)", "p999(ms)", "max(ms)", "errors", "bytes/req");
+        Map<String, Object> rows = new LinkedHashMap<>((Map<String, Object>) result.get("operations"));
+        rows.put("total", result.get("total"));
+        rows.forEach((op, value) -> {
+            Map<String, Object> s = (Map<String, Object>) value;
+            System.out.printf("%-10s %9s %9s %9s %9s %9s %9s %9s %7s %9s%n", op, s.get("requests"), s.get("throughput"),
+                s.get("p50Ms"), s.get("p90Ms"), s.get("p99Ms"), s.get("p999Ms"), s.get("maxMs"), s.get("errors"),
+                s.get("bytesPerRequest"));
+        });
+    }
+
+    private static void write(Map<String, Object> result, Path out) throws IOException {
+        if (out.getParent() != null) {
+            Files.createDirectories(out.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(out.toFile(), result);
+        System.out.println("result: " + out.toAbsolutePath());
+    }
+
+    // 서버 쪽 지표(bcrypt/검색/요청당 쿼리 수/풀 포화)를 함께 남긴다
+    private static void saveMetrics(ConfigurableApplicationContext context, Path out) throws IOException {
+        String port = context.getEnvironment().getProperty("local.management.port");
+        if (port == null) {
+            return;
+        }
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/actuator/prometheus")).build();
+        try {
+            HttpResponse<Path> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofFile(out));
+            System.out.println("metrics: " + response.body().toAbsolutePath());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // 가중치만큼 작업을 반복한 배열에서 균등하게 고른다
+    static VirtualUser.Op[] schedule(String mix) {
+        List<VirtualUser.Op> ops = new ArrayList<>();
+        for (String part : mix.split(",")) {
+            String[] kv = part.trim().split(":");
+            if (kv.length != 2) {
+                throw new IllegalArgumentException("mix 형식이 올바르지 않습니다: " + part);
+            }
+            VirtualUser.Op op = VirtualUser.Op.valueOf(kv[0].trim().toUpperCase());
+            for (int i = Integer.parseInt(kv[1].trim()); i > 0; i--) {
+                ops.add(op);
+            }
+        }
+        if (ops.isEmpty()) {
+            throw new IllegalArgumentException("mix에 작업이 없습니다.");
+        }
+        return ops.toArray(new VirtualUser.Op[0]);
+    }
+
+    // 업로드용 작은 PNG (내용이 달라 매번 다른 해시로 저장된다)
+    private static byte[][] images(int count) {
+        Random random = new Random(42);
+        byte[][] images = new byte[count][];
+        for (int i = 0; i < count; i++) {
+            int size = 64 + random.nextInt(192);
+            BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+            for (int y = 0; y < size; y += 8) {
+                for (int x = 0; x < size; x += 8) {
+                    int rgb = random.nextInt(0xFFFFFF);
+                    for (int dy = 0; dy < 8 && y + dy < size; dy++) {
+                        for (int dx = 0; dx < 8 && x + dx < size; dx++) {
+                            image.setRGB(x + dx, y + dy, rgb);
+                        }
+                    }
+                }
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try {
+                ImageIO.write(image, "png", out);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            images[i] = out.toByteArray();
+        }
+        return images;
+    }
+
+    private static Config parse(String[] args) {
+        Config config = new Config();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("--key=value 형식이어야 합니다: " + arg);
+            }
+            String key = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (key) {
+                case "mentors": config.mentors = Integer.parseInt(value); break;
+                case "mentees": config.mentees = Integer.parseInt(value); break;
+                case "skills": config.skillCardinality = Integer.parseInt(value); break;
+                case "concurrency": config.concurrency = Integer.parseInt(value); break;
+                case "duration": config.durationSeconds = Integer.parseInt(value); break;
+                case "warmup": config.warmupSeconds = Integer.parseInt(value); break;
+                case "mix": config.mix = value; break;
+                case "out": config.out = value; break;
+                case "target": config.target = value; break;
+                case "first-id": config.firstId = Long.parseLong(value); break;
+                default: config.springArgs.add(arg);
+            }
+        }
+        return config;
+    }
+}
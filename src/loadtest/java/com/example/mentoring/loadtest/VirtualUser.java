@@ -0,0 +1,248 @@
+package com.example.mentoring.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 닫힌 루프 가상 사용자 하나: 응답을 받으면 바로 다음 작업을 가중치에 따라 고른다.
+ * 시작 시 멘티 한 명으로 로그인해 매칭 요청에 쓸 토큰을 받는다.
+ * 서빙 작업(SERVE/REVALIDATE/RANGE)은 이 사용자가 업로드한 이미지 URL을 쓰고, 아직 없으면 먼저 하나 올린다.
+ */
+final class VirtualUser implements Runnable {
+    enum Op { SEARCH, TEXT, LOGIN, SIGNUP, PROFILE, MATCH, UPLOAD, SERVE, REVALIDATE, RANGE }
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern URL = Pattern.compile("\"url\"\\s*:\\s*\"(/uploads/[^\"]+)\"");
+    private static final Pattern BLOB_HASH = Pattern.compile("/([0-9a-f]{64})\\.");
+    private static final String[] THUMBNAIL_QUERIES = {"", "?size=64", "?size=200"};
+    private static final int MAX_UPLOADED = 32;
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final int index;
+    private final LoadTest.Config config;
+    private final HttpClient client;
+    private final Op[] schedule;
+    private final byte[][] images;
+    private final long warmupEndNanos;
+    private final long endNanos;
+    private final Random random;
+    private final Map<Op, LatencyRecorder> recorders = new EnumMap<>(Op.class);
+    private final List<String> uploaded = new ArrayList<>();
+    private String menteeToken;
+    // 프로필 수정은 본인만 가능하므로 사용자마다 멘토 한 명으로 로그인해 그 프로필을 고친다
+    private long ownMentorId;
+    private String mentorToken;
+    private int signups;
+
+    VirtualUser(int index, LoadTest.Config config, HttpClient client, Op[] schedule, byte[][] images,
+                long warmupEndNanos, long endNanos) {
+        this.index = index;
+        this.config = config;
+        this.client = client;
+        this.schedule = schedule;
+        this.images = images;
+        this.warmupEndNanos = warmupEndNanos;
+        this.endNanos = endNanos;
+        this.random = new Random(index * 7919L + 17);
+        for (Op op : Op.values()) {
+            recorders.put(op, new LatencyRecorder());
+        }
+    }
+
+    Map<Op, LatencyRecorder> getRecorders() {
+        return recorders;
+    }
+
+    @Override
+    public void run() {
+        if (config.mentees > 0) {
+            menteeToken = login("lt-mentee" + (index % config.mentees) + "@load.test");
+        }
+        if (config.mentors > 0) {
+            int mentor = index % config.mentors;
+            ownMentorId = config.firstId + mentor;
+            mentorToken = login("lt-mentor" + mentor + "@load.test");
+        }
+        while (System.nanoTime() < endNanos) {
+            Op op = schedule[random.nextInt(schedule.length)];
+            switch (op) {
+                case SEARCH: search(); break;
+                case TEXT: textSearch(); break;
+                case LOGIN: login(randomAccount()); break;
+                case SIGNUP: signup(); break;
+                case PROFILE: updateProfile(); break;
+                case MATCH: matchRequest(); break;
+                case UPLOAD: upload(); break;
+                case SERVE: serve(); break;
+                case REVALIDATE: revalidate(); break;
+                case RANGE: range(); break;
+                default: throw new IllegalStateException(op.name());
+            }
+        }
+    }
+
+    private void search() {
+        String skills = config.skills[sampleSkill()] + (random.nextBoolean() ? "," + config.skills[sampleSkill()] : "");
+        String query = "/api/auth/mentors?size=20&techStack=" + URLEncoder.encode(skills, StandardCharsets.UTF_8)
+            + (random.nextBoolean() ? "&match=any" : "")
+            + (random.nextInt(3) == 0 ? "&sortBy=name" : "");
+        HttpResponse<byte[]> response = send(Op.SEARCH, HttpRequest.newBuilder(uri(query)).GET());
+        // 일부는 다음 페이지까지 넘겨 본다
+        String cursor = response == null ? null : response.headers().firstValue("X-Next-Cursor").orElse(null);
+        if (cursor != null && random.nextInt(3) == 0) {
+            send(Op.SEARCH, HttpRequest.newBuilder(uri(query + "&cursor=" + URLEncoder.encode(cursor, StandardCharsets.UTF_8))).GET());
+        }
+    }
+
+    // 자유어 검색: 스킬 1~2개 + 소개글 단어
+    private void textSearch() {
+        String q = config.skills[sampleSkill()] + " " + (random.nextBoolean() ? config.skills[sampleSkill()] + " " : "") + "테스트";
+        send(Op.TEXT, HttpRequest.newBuilder(uri("/api/auth/mentors/search?size=20&q="
+            + URLEncoder.encode(q, StandardCharsets.UTF_8))).GET());
+    }
+
+    private String login(String email) {
+        String body = "{\"email\":\"" + email + "\",\"password\":\"" + DatasetSeeder.PASSWORD + "\"}";
+        HttpResponse<byte[]> response = send(Op.LOGIN, json(uri("/api/auth/login"), "POST", body));
+        if (response == null || response.statusCode() != 200) return null;
+        Matcher m = TOKEN.matcher(new String(response.body(), StandardCharsets.UTF_8));
+        return m.find() ? m.group(1) : null;
+    }
+
+    private void signup() {
+        String email = "lt-new-" + index + "-" + (signups++) + "-" + UUID.randomUUID().toString().substring(0, 8) + "@load.test";
+        String role = random.nextInt(4) == 0 ? "mentor" : "mentee";
+        String body = "{\"email\":\"" + email + "\",\"password\":\"" + DatasetSeeder.PASSWORD
+            + "\",\"role\":\"" + role + "\",\"name\":\"New " + index + "\"}";
+        send(Op.SIGNUP, json(uri("/api/auth/signup"), "POST", body));
+    }
+
+    private void updateProfile() {
+        if (mentorToken == null) return;
+        String body = random.nextInt(5) == 0
+            ? "{\"techStack\":\"" + config.skills[sampleSkill()] + ", " + config.skills[sampleSkill()] + "\"}"
+            : "{\"bio\":\"updated " + random.nextInt(1000) + "\"}";
+        send(Op.PROFILE, json(uri("/api/auth/profile/" + ownMentorId), "PUT", body)
+            .header("Authorization", "Bearer " + mentorToken));
+    }
+
+    private void matchRequest() {
+        if (menteeToken == null || config.mentors == 0) return;
+        if (random.nextInt(4) == 0) {
+            send(Op.MATCH, HttpRequest.newBuilder(uri("/api/auth/match-requests/outgoing"))
+                .header("Authorization", "Bearer " + menteeToken).GET());
+            return;
+        }
+        long mentorId = config.firstId + random.nextInt(config.mentors);
+        String body = "{\"mentorId\":" + mentorId + ",\"message\":\"load test\"}";
+        send(Op.MATCH, json(uri("/api/auth/match-requests"), "POST", body)
+            .header("Authorization", "Bearer " + menteeToken));
+    }
+
+    private void upload() {
+        String boundary = "----lt" + Long.toHexString(random.nextLong());
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        byte[] image = images[random.nextInt(images.length)];
+        String head = "--" + boundary + "\r\nContent-Disposition: form-data; name=\"file\"; filename=\"avatar.png\"\r\n"
+            + "Content-Type: image/png\r\n\r\n";
+        body.writeBytes(head.getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(image);
+        body.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        HttpResponse<byte[]> response = send(Op.UPLOAD, HttpRequest.newBuilder(uri("/api/auth/profile/upload"))
+            .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+            .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray())));
+        if (response != null && response.statusCode() == 200) {
+            Matcher m = URL.matcher(new String(response.body(), StandardCharsets.UTF_8));
+            if (m.find()) {
+                if (uploaded.size() == MAX_UPLOADED) uploaded.remove(random.nextInt(MAX_UPLOADED));
+                uploaded.add(m.group(1));
+            }
+        }
+    }
+
+    // 캐시가 빈 클라이언트: 원본 또는 썸네일 전체 (200)
+    private void serve() {
+        String url = uploadedUrl();
+        if (url == null) return;
+        send(Op.SERVE, HttpRequest.newBuilder(uri(url + THUMBNAIL_QUERIES[random.nextInt(THUMBNAIL_QUERIES.length)])).GET());
+    }
+
+    // 캐시를 가진 클라이언트/프록시의 재검증: 해시 URL의 ETag는 URL에서 바로 알 수 있다 (304)
+    private void revalidate() {
+        String url = uploadedUrl();
+        if (url == null) return;
+        Matcher m = BLOB_HASH.matcher(url);
+        String etag = m.find() ? "\"" + m.group(1) + "\"" : "\"none\"";
+        send(Op.REVALIDATE, HttpRequest.newBuilder(uri(url)).header("If-None-Match", etag).GET());
+    }
+
+    // 이어받기: 원본 앞 1KB (206)
+    private void range() {
+        String url = uploadedUrl();
+        if (url == null) return;
+        send(Op.RANGE, HttpRequest.newBuilder(uri(url)).header("Range", "bytes=0-1023").GET());
+    }
+
+    private String uploadedUrl() {
+        if (uploaded.isEmpty()) {
+            upload();
+        }
+        return uploaded.isEmpty() ? null : uploaded.get(random.nextInt(uploaded.size()));
+    }
+
+    // 본문 바이트 수도 함께 기록해 200/304/206의 전송량을 비교할 수 있게 한다
+    private HttpResponse<byte[]> send(Op op, HttpRequest.Builder request) {
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response = null;
+        try {
+            response = client.send(request.timeout(TIMEOUT).build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            // 연결 실패/타임아웃은 상태 0으로 기록
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        long end = System.nanoTime();
+        if (start >= warmupEndNanos && end <= endNanos) {
+            recorders.get(op).record(end - start, response == null ? 0 : response.statusCode(),
+                response == null ? 0 : response.body().length);
+        }
+        return response;
+    }
+
+    private HttpRequest.Builder json(URI uri, String method, String body) {
+        return HttpRequest.newBuilder(uri)
+            .header("Content-Type", "application/json")
+            .method(method, HttpRequest.BodyPublishers.ofString(body));
+    }
+
+    private URI uri(String path) {
+        return URI.create(config.target + path);
+    }
+
+    private String randomAccount() {
+        if (config.mentees > 0 && (config.mentors == 0 || random.nextBoolean())) {
+            return "lt-mentee" + random.nextInt(config.mentees) + "@load.test";
+        }
+        return "lt-mentor" + random.nextInt(Math.max(1, config.mentors)) + "@load.test";
+    }
+
+    // 데이터와 같은 Zipf 분포로 검색 스킬을 고른다
+    private int sampleSkill() {
+        return DatasetSeeder.sampleIndex(config.skillCumulative, random.nextDouble());
+    }
+}
@@ -5,16 +5,20 @@ import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.servlet.config.annotation.ViewControllerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @SpringBootApplication
+@EnableScheduling
 public class MentoringApplication implements WebMvcConfigurer {
     public static void main(String[] args) {
         SpringApplication.run(MentoringApplication.class, args);
     }
 
     @Bean
+    @Profile("!prod") // 운영 환경에는 고정 비밀번호 데모 계정을 만들지 않음
     public CommandLineRunner testData(UserService userService) {
         return args -> {
             // 테스트 데이터: 멘토, 멘티 계정 생성
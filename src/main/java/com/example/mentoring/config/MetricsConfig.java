@@ -0,0 +1,16 @@
+package com.example.mentoring.config;
+
+import com.example.mentoring.metrics.QueryCounter;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+    // 요청당 SQL 수 집계 (QueryCountFilter)
+    @Bean
+    public HibernatePropertiesCustomizer queryCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCounter());
+    }
+}
@@ -1,12 +1,19 @@
 package com.example.mentoring.config;
 
+import com.example.mentoring.security.JwtAuthenticationFilter;
+import com.example.mentoring.security.JwtTokenProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.web.AuthenticationEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.core.AuthenticationException;
 
 import javax.servlet.http.HttpServletRequest;
@@ -16,9 +23,13 @@ import java.io.IOException;
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig extends WebSecurityConfigurerAdapter {
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    // cost(strength)는 security.bcrypt.strength로 조정. 기존 해시는 로그인 시 새 cost로 재해시된다
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BCryptPasswordEncoder passwordEncoder(@Value("${security.bcrypt.strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 
     @Bean
@@ -27,7 +38,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
             @Override
             public void commence(HttpServletRequest request, HttpServletResponse response, AuthenticationException authException) throws IOException {
                 response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-                response.setContentType("application/json");
+                response.setContentType("application/json;charset=UTF-8");
                 response.getWriter().write("{\"error\":\"인증이 필요합니다.\"}");
             }
         };
@@ -37,7 +48,18 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     protected void configure(HttpSecurity http) throws Exception {
         http.csrf().disable()
             .cors().and()
+            // JWT만 사용하므로 세션을 만들지 않는다
+            .sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS).and()
+            .addFilterBefore(new JwtAuthenticationFilter(jwtTokenProvider), UsernamePasswordAuthenticationFilter.class)
+            .exceptionHandling().authenticationEntryPoint(authenticationEntryPoint()).and()
             .authorizeRequests()
+            .antMatchers("/api/auth/match-requests/**", "/api/auth/match-requests", "/api/auth/events").authenticated()
+            // 프로필 조회는 공개, 수정은 로그인한 본인만 (본인 확인은 AuthController)
+            .antMatchers(HttpMethod.PUT, "/api/auth/profile/*").authenticated()
+            // 운영 통계: 관리자 토큰 필요 (같은 수치는 관리 포트의 cache.*, executor.* 메트릭으로도 본다)
+            .antMatchers("/api/admin/**").hasRole("ADMIN")
+            // 일괄 가입은 요청 하나로 bcrypt를 수천 번 돌리므로 관리자만 (가입 역할 검증은 그대로)
+            .antMatchers("/api/auth/signup/bulk").hasRole("ADMIN")
             .antMatchers("/api/auth/signup", "/api/auth/login", "/api/auth/**", "/api/matching/**", "/swagger-ui/**", "/v2/api-docs", "/swagger-resources/**", "/webjars/**", "/", "/h2-console/**").permitAll()
             .anyRequest().permitAll()
             .and()
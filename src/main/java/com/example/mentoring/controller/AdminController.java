@@ -0,0 +1,32 @@
+package com.example.mentoring.controller;
+
+import com.example.mentoring.service.MentorDirectoryCache;
+import com.example.mentoring.storage.ThumbnailService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+// 관리자(role=admin) 토큰이 있어야 한다 (SecurityConfig)
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+    @Autowired
+    private MentorDirectoryCache directoryCache;
+
+    @Autowired
+    private ThumbnailService thumbnailService;
+
+    // 멘토 디렉터리 캐시 적중/실패/축출 통계
+    @GetMapping("/cache-stats")
+    public ResponseEntity<?> cacheStats() {
+        return ResponseEntity.ok(directoryCache.stats());
+    }
+
+    // 썸네일 큐 깊이/처리 시간 통계
+    @GetMapping("/thumbnail-stats")
+    public ResponseEntity<?> thumbnailStats() {
+        return ResponseEntity.ok(thumbnailService.stats());
+    }
+}
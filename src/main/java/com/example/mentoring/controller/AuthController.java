@@ -1,196 +1,332 @@
 package com.example.mentoring.controller;
 
+import com.example.mentoring.dto.ProfileResponse;
+import com.example.mentoring.dto.SignupResponse;
 import com.example.mentoring.entity.User;
+import com.example.mentoring.event.ChangeFeed;
+import com.example.mentoring.metrics.QueryBudget;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import com.example.mentoring.service.MatchRequestService;
+import com.example.mentoring.service.MentorPage;
+import com.example.mentoring.service.UserImportService;
 import com.example.mentoring.service.UserService;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.example.mentoring.security.AuthenticatedUser;
 import com.example.mentoring.security.JwtTokenProvider;
+import com.example.mentoring.security.LoginThrottle;
+import com.example.mentoring.security.PasswordHashingOverloadedException;
+import com.example.mentoring.storage.ImageStorageService;
+import com.example.mentoring.storage.StoredImage;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 import org.springframework.web.multipart.MultipartFile;
-import org.springframework.util.StringUtils;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import javax.imageio.ImageIO;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.Size;
 
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.HashMap;
-import java.util.List;
-import java.util.Optional;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/auth")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = AuthController.NEXT_CURSOR_HEADER)
 public class AuthController {
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String NDJSON = "application/x-ndjson";
+
     @Autowired
     private UserService userService;
 
     @Autowired
     private JwtTokenProvider jwtTokenProvider;
 
-    @Value("${upload.dir:uploads}")
-    private String uploadDir;
+    @Autowired
+    private MatchRequestService matchRequestService;
+
+    @Autowired
+    private LoginThrottle loginThrottle;
+
+    @Autowired
+    private ImageStorageService imageStorageService;
 
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JsonArrayWriter jsonArrayWriter;
+
+    @Autowired
+    private ChangeFeed changeFeed;
+
+    // 시퀀스 블록 할당(50건마다) + INSERT
+    @QueryBudget(2)
     @PostMapping("/signup")
     public ResponseEntity<?> signup(@Valid @RequestBody SignupRequest request) {
         try {
             User user = userService.registerUser(request.getEmail(), request.getPassword(), request.getRole(), request.getName());
             // 명세에 따라 201 Created, 사용자 정보 반환 (비밀번호 제외)
-            Map<String, Object> userResponse = Map.of(
-                "id", user.getId(),
-                "email", user.getEmail(),
-                "name", user.getName(),
-                "role", user.getRole(),
-                "profile", Map.of(
-                    "name", user.getName() != null ? user.getName() : "",
-                    "bio", user.getBio() != null ? user.getBio() : "",
-                    "image", user.getProfileImageUrl() != null ? user.getProfileImageUrl() : 
-                            ("mentor".equals(user.getRole()) ? "https://placehold.co/500x500.jpg?text=MENTOR" : 
-                                                               "https://placehold.co/500x500.jpg?text=MENTEE")
-                )
-            );
-            return ResponseEntity.status(201).body(userResponse);
+            return ResponseEntity.status(201).body(new SignupResponse(user));
+        } catch (IllegalStateException e) {
+            // 정규화된 이메일 유니크 인덱스 위반
+            return ResponseEntity.status(409).body(Map.of("message", e.getMessage()));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        } catch (PasswordHashingOverloadedException e) {
+            return serviceUnavailable(e);
         } catch (Exception e) {
             return ResponseEntity.status(500).body(Map.of("message", "Internal server error"));
         }
     }
 
+    /**
+     * 일괄 가입: JSON 배열 또는 NDJSON(한 줄에 가입 요청 하나)을 스트리밍으로 읽는다.
+     * 행별 검증/중복 오류는 errors에 모아 돌려주고 나머지 행은 계속 가입시킨다.
+     * null 행이나 필드 타입이 맞지 않는 행도 그 행만 실패로 기록한다.
+     * JSON 형식 자체가 깨지면 그 지점에서 읽기를 멈추고, 앞서 읽은 행까지만 처리한다.
+     * 관리자 토큰이 있어야 호출할 수 있다 (SecurityConfig).
+     */
+    // 청크 수에 비례
+    @QueryBudget(QueryBudget.UNBOUNDED)
+    @PostMapping(value = "/signup/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, NDJSON})
+    public ResponseEntity<?> bulkSignup(HttpServletRequest httpRequest) {
+        try (MappingIterator<SignupRequest> requests = objectMapper.readerFor(SignupRequest.class)
+                .readValues(httpRequest.getInputStream())) {
+            UserImportService.ImportResult result = userImportService.importUsers(new Iterator<>() {
+                private boolean broken;
+
+                @Override
+                public boolean hasNext() {
+                    if (broken) return false;
+                    try {
+                        return requests.hasNextValue();
+                    } catch (IOException e) {
+                        broken = true;
+                        return false;
+                    }
+                }
+
+                @Override
+                public UserImportService.Row next() {
+                    try {
+                        return toImportRow(requests.nextValue());
+                    } catch (MismatchedInputException e) {
+                        // JSON 문법은 맞고 값만 어긋난 경우: 파서가 다음 행으로 넘어가므로 계속 읽는다
+                        return UserImportService.Row.invalid(null, "가입 정보 형식이 올바르지 않습니다.");
+                    } catch (IOException e) {
+                        broken = true;
+                        return UserImportService.Row.invalid(null, "잘못된 JSON입니다.");
+                    }
+                }
+            });
+            return ResponseEntity.ok(Map.of(
+                "total", result.getTotal(),
+                "created", result.getCreated(),
+                "failed", result.getFailed(),
+                "errors", result.getErrors()
+            ));
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", "요청 본문을 읽을 수 없습니다."));
+        }
+    }
+
+    // SignupRequest 제약과 같은 규칙 (빈 값, 비밀번호 6자 이상)
+    private UserImportService.Row toImportRow(SignupRequest request) {
+        if (request == null) {
+            // [null] 이나 NDJSON의 null 행
+            return UserImportService.Row.invalid(null, "가입 정보가 비어 있습니다.");
+        }
+        String error = null;
+        if (isBlank(request.getEmail())) error = "이메일은 필수입니다.";
+        else if (isBlank(request.getPassword())) error = "비밀번호는 필수입니다.";
+        else if (request.getPassword().length() < 6) error = "비밀번호는 6자 이상이어야 합니다.";
+        else if (isBlank(request.getRole())) error = "역할은 필수입니다.";
+        else if (!User.isSignupRole(request.getRole())) error = "역할은 mentor 또는 mentee만 가능합니다.";
+        else if (isBlank(request.getName())) error = "이름은 필수입니다.";
+        if (error != null) {
+            return UserImportService.Row.invalid(request.getEmail(), error);
+        }
+        return UserImportService.Row.of(request.getEmail(), request.getPassword(), request.getRole(), request.getName());
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    // bcrypt 풀 과부하: 바로 거절하고 잠시 후 재시도하도록 안내
+    private ResponseEntity<?> serviceUnavailable(PasswordHashingOverloadedException e) {
+        return ResponseEntity.status(503).header("Retry-After", "1").body(Map.of("message", e.getMessage()));
+    }
+
+    @QueryBudget(1)
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest request) {
+    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest request, HttpServletRequest httpRequest) {
+        // 사용자 조회/bcrypt 이전에 IP·이메일별 시도 횟수부터 제한
+        long retryAfterSeconds = loginThrottle.check(httpRequest.getRemoteAddr(), request.getEmail());
+        if (retryAfterSeconds > 0) {
+            countLogin("throttled");
+            return ResponseEntity.status(429)
+                .header("Retry-After", String.valueOf(retryAfterSeconds))
+                .body(Map.of("message", "로그인 시도가 너무 많습니다. 잠시 후 다시 시도해 주세요."));
+        }
         Optional<User> userOpt = userService.findByEmail(request.getEmail());
         if (userOpt.isEmpty()) {
+            countLogin("unknown_email");
             return ResponseEntity.status(401).body(Map.of("message", "이메일 또는 비밀번호가 올바르지 않습니다."));
         }
         User user = userOpt.get();
-        if (!userService.getPasswordEncoder().matches(request.getPassword(), user.getPassword())) {
-            return ResponseEntity.status(401).body(Map.of("message", "이메일 또는 비밀번호가 올바르지 않습니다."));
+        try {
+            if (!userService.checkPassword(user, request.getPassword())) {
+                countLogin("bad_password");
+                return ResponseEntity.status(401).body(Map.of("message", "이메일 또는 비밀번호가 올바르지 않습니다."));
+            }
+        } catch (PasswordHashingOverloadedException e) {
+            countLogin("overloaded");
+            return serviceUnavailable(e);
+        }
+
+        countLogin("success");
+        return ResponseEntity.ok(issueTokens(user.getId(), user.getEmail(), user.getName(), user.getRole(),
+            jwtTokenProvider.newRefreshFamily()));
+    }
+
+    // 로그인 결과별 카운터 (auth.login, outcome 태그)
+    private void countLogin(String outcome) {
+        meterRegistry.counter("auth.login", "outcome", outcome).increment();
+    }
+
+    // 리프레시 토큰 회전: 사용한 리프레시 토큰은 폐기하고 같은 패밀리로 새 토큰 쌍을 발급
+    @QueryBudget(1)
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody RefreshRequest request) {
+        Claims claims = jwtTokenProvider.consumeRefreshToken(request.refreshToken);
+        if (claims == null) {
+            return ResponseEntity.status(401).body(Map.of("message", "유효하지 않은 리프레시 토큰입니다."));
+        }
+        ProfileResponse user;
+        try {
+            user = userService.getProfile(claims.get("userId", Number.class).longValue());
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(401).body(Map.of("message", "유효하지 않은 리프레시 토큰입니다."));
         }
-        
+        return ResponseEntity.ok(issueTokens(user.id, user.email, user.name, user.role, claims.get("fid", String.class)));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestHeader(value = "Authorization", required = false) String authorization,
+                                    @RequestBody(required = false) RefreshRequest request) {
+        String accessToken = authorization != null && authorization.startsWith("Bearer ") ? authorization.substring(7) : null;
+        jwtTokenProvider.revoke(accessToken, request != null ? request.refreshToken : null);
+        return ResponseEntity.noContent().build();
+    }
+
+    private Map<String, Object> issueTokens(Long userId, String email, String name, String role, String refreshFamily) {
         // 실제 JWT 토큰 생성 (RFC 7519 표준 클레임 포함)
-        String token = jwtTokenProvider.generateToken(user.getEmail(), user.getName(), user.getRole());
-        
         Map<String, Object> response = new HashMap<>();
-        response.put("token", token);
-        return ResponseEntity.ok(response);
+        response.put("token", jwtTokenProvider.generateToken(userId, email, name, role));
+        response.put("refreshToken", jwtTokenProvider.generateRefreshToken(userId, email, refreshFamily));
+        return response;
     }
 
+    // 사용자/스킬 조회, 이미지 참조 이동 2, 사용자 UPDATE, 스킬 DELETE/INSERT 배치
+    @QueryBudget(7)
     @PutMapping("/profile/{userId}")
-    public ResponseEntity<?> updateProfile(@PathVariable Long userId, @RequestBody ProfileRequest request) {
+    public ResponseEntity<?> updateProfile(@AuthenticationPrincipal AuthenticatedUser user,
+                                           @PathVariable Long userId, @RequestBody ProfileRequest request) {
+        // 본인 프로필만 수정할 수 있다 (인증은 SecurityConfig)
+        if (!userId.equals(user.getId())) {
+            return ResponseEntity.status(403).body(Map.of("message", "본인 프로필만 수정할 수 있습니다."));
+        }
         try {
-            User user = userService.updateProfileFields(userId, request.getName(), request.getBio(), request.getProfileImageUrl(), request.getTechStack());
-            return ResponseEntity.ok(user);
+            User updated = userService.updateProfileFields(userId, request.getName(), request.getBio(), request.getProfileImageUrl(), request.getTechStack());
+            return ResponseEntity.ok(ProfileResponse.from(updated));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
+    @QueryBudget(1)
     @GetMapping("/profile/{userId}")
     public ResponseEntity<?> getProfile(@PathVariable Long userId) {
         try {
-            User user = userService.getProfile(userId);
-            return ResponseEntity.ok(user);
+            return ResponseEntity.ok(userService.getProfile(userId));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
-    public static class MentorResponse {
-        public Long id;
-        public String name;
-        public String bio;
-        public String profileImageUrl;
-        public String[] skills;
-        public MentorResponse(User u) {
-            this.id = u.getId();
-            this.name = u.getName();
-            this.bio = u.getBio();
-            this.profileImageUrl = u.getProfileImageUrl();
-            this.skills = u.getTechStack() == null ? new String[]{} : u.getTechStack().split(",");
+    // 페이지 id 조회 + 캐시에 없는 카드 일괄 조회
+    @QueryBudget(2)
+    @GetMapping("/mentors")
+    public ResponseEntity<?> getMentors(@RequestParam(required = false) String techStack,
+                                        @RequestParam(required = false) String match,
+                                        @RequestParam(required = false) String sortBy,
+                                        @RequestParam(required = false) String cursor,
+                                        @RequestParam(required = false) Integer size) {
+        try {
+            MentorPage page = userService.findMentors(techStack, match, sortBy, cursor, size);
+            // 응답 본문은 기존처럼 배열을 유지하고, 다음 페이지 커서는 헤더로 전달
+            // (페이지는 mentor.page.max-size 이하의 캐시된 카드 참조라 Jackson 컨버터가 그대로 응답 스트림에 쓴다)
+            ResponseEntity.BodyBuilder ok = ResponseEntity.ok();
+            if (page.hasNext()) {
+                ok.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+            }
+            return ok.body(page.getContent());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
         }
     }
 
-    @GetMapping("/mentors")
-    public ResponseEntity<?> getMentors(@RequestParam(required = false) String techStack,
-                                        @RequestParam(required = false) String sortBy) {
-        List<User> mentors = userService.findMentors(techStack, sortBy);
-        List<MentorResponse> result = mentors.stream().map(MentorResponse::new).collect(java.util.stream.Collectors.toList());
-        return ResponseEntity.ok(result);
+    // 자유어 검색 (예: q=kubernetes backend go), 결과는 관련도 순 배열. 캐시에 없는 카드만 일괄 조회
+    @QueryBudget(1)
+    @GetMapping("/mentors/search")
+    public ResponseEntity<?> searchMentors(@RequestParam(required = false) String q,
+                                           @RequestParam(required = false) Integer page,
+                                           @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(userService.searchMentors(q, page, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
     }
 
+    // blob touch, 없으면 INSERT (시퀀스 없음)
+    @QueryBudget(2)
     @PostMapping("/profile/upload")
     public ResponseEntity<?> uploadProfileImage(@RequestParam("file") MultipartFile file) {
         try {
-            // 파일 검증
-            if (file.isEmpty()) {
-                return ResponseEntity.badRequest().body(Map.of("message", "파일이 비어 있습니다."));
-            }
-            
-            // 파일 확장자 검증 (.jpg, .png만 허용)
-            String originalFilename = file.getOriginalFilename();
-            if (originalFilename == null) {
-                return ResponseEntity.badRequest().body(Map.of("message", "파일명이 유효하지 않습니다."));
-            }
-            String ext = StringUtils.getFilenameExtension(originalFilename);
-            if (ext == null) {
-                return ResponseEntity.badRequest().body(Map.of("message", "파일 확장자가 없습니다."));
-            }
-            ext = ext.toLowerCase();
-            if (!("jpg".equals(ext) || "jpeg".equals(ext) || "png".equals(ext))) {
-                return ResponseEntity.badRequest().body(Map.of("message", ".jpg 또는 .png 파일만 업로드 가능합니다."));
-            }
-            
-            // 파일 크기 검증 (최대 1MB)
-            if (file.getSize() > 1024 * 1024) {
-                return ResponseEntity.badRequest().body(Map.of("message", "파일 크기는 최대 1MB까지 허용됩니다."));
-            }
-            
-            // 이미지 해상도 검증 (완화된 버전)
-            try {
-                BufferedImage image = ImageIO.read(new ByteArrayInputStream(file.getBytes()));
-                if (image != null) {
-                    int width = image.getWidth();
-                    int height = image.getHeight();
-                    // 정사각형이 아니어도 허용하되 권장사항으로 안내
-                    if (width != height) {
-                        // 경고만 하고 업로드는 허용
-                        System.out.println("Warning: 정사각형 이미지를 권장합니다. (현재: " + width + "x" + height + ")");
-                    }
-                    // 해상도 검증을 더 완화 (1x1 ~ 2000x2000)
-                    if (width < 1 || width > 2000 || height < 1 || height > 2000) {
-                        return ResponseEntity.badRequest().body(Map.of("message", "이미지 크기는 1x1 ~ 2000x2000 픽셀이어야 합니다."));
-                    }
-                }
-            } catch (Exception e) {
-                // 이미지 검증 실패해도 업로드는 허용 (파일이 이미지가 아닐 수도 있음)
-                System.out.println("Image validation failed: " + e.getMessage());
-            }
-            
-            // 파일 저장
-            String filename = System.currentTimeMillis() + "_" + originalFilename.replaceAll("[^a-zA-Z0-9.]+", "_");
-            Path uploadPath = Paths.get(uploadDir);
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
-            }
-            Path filePath = uploadPath.resolve(filename);
-            file.transferTo(filePath);
-            
+            // 형식(매직 바이트), 크기, 해상도 검증과 저장은 스트리밍으로 한 번에 처리
+            StoredImage stored = imageStorageService.store(file);
             // 성공 응답 (JSON 형식으로 통일)
-            String imageUrl = "/uploads/" + filename;
             return ResponseEntity.ok(Map.of(
                 "message", "파일 업로드 성공",
-                "url", imageUrl,
-                "filename", filename
+                "url", stored.getUrl(),
+                "filename", stored.getFilename()
             ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
         } catch (IOException e) {
             return ResponseEntity.status(500).body(Map.of("message", "파일 저장 실패: " + e.getMessage()));
         } catch (Exception e) {
@@ -198,6 +334,12 @@ public class AuthController {
         }
     }
 
+    // multipart 한도(spring.servlet.multipart.max-file-size) 초과: 파싱 단계에서 끊기므로 store()까지 오지 않는다
+    @ExceptionHandler(MaxUploadSizeExceededException.class)
+    public ResponseEntity<?> uploadTooLarge(MaxUploadSizeExceededException e) {
+        return ResponseEntity.badRequest().body(Map.of("message", "파일 크기가 업로드 한도를 넘었습니다."));
+    }
+
     public static class SignupRequest {
         @NotBlank(message = "이메일은 필수입니다.")
         public String email;
@@ -231,6 +373,10 @@ public class AuthController {
         public void setPassword(String password) { this.password = password; }
     }
 
+    public static class RefreshRequest {
+        public String refreshToken;
+    }
+
     public static class ProfileRequest {
         private String name;
         private String bio;
@@ -248,88 +394,116 @@ public class AuthController {
     }
 
     // 매칭 관련 API들 - 명세에 맞게 경로 수정
+    // 멘토 조회, 수락된 멘티 확인, 대기 중 중복 확인, INSERT, 응답 뷰
+    @QueryBudget(5)
     @PostMapping("/match-requests")
-    public ResponseEntity<?> createMatchingRequest(@RequestBody CreateMatchingRequestDto request) {
+    public ResponseEntity<?> createMatchingRequest(@AuthenticationPrincipal AuthenticatedUser user,
+                                                   @RequestBody CreateMatchingRequestDto request) {
+        if (user == null || user.getId() == null) {
+            return unauthorized();
+        }
         try {
-            // 임시 구현: 간단한 매칭 요청 생성
-            return ResponseEntity.ok(Map.of(
-                "id", System.currentTimeMillis(),
-                "message", "매칭 요청이 생성되었습니다.",
-                "mentorId", request.mentorId,
-                "requestMessage", request.message
-            ));
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+            return ResponseEntity.ok(matchRequestService.create(user, request.mentorId, request.message));
+        } catch (RuntimeException e) {
+            return matchError(e);
         }
     }
 
+    // 청크 수에 비례 (match.list.chunk-size건마다 한 번)
+    @QueryBudget(QueryBudget.UNBOUNDED)
     @GetMapping("/match-requests/outgoing")
-    public ResponseEntity<?> getOutgoingMatchingRequests() {
-        try {
-            // 멘티가 보낸 매칭 요청 목록 (명세에 맞게 수정)
-            List<Map<String, Object>> requests = List.of(
-                Map.of(
-                    "id", 1L,
-                    "mentorId", 1L,
-                    "menteeId", 2L,
-                    "mentorName", "김멘토",
-                    "message", "Java 백엔드 개발을 배우고 싶습니다.",
-                    "status", "pending",
-                    "createdAt", "2024-01-15T10:30:00"
-                )
-            );
-            return ResponseEntity.ok(requests);
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+    public ResponseEntity<?> getOutgoingMatchingRequests(@AuthenticationPrincipal AuthenticatedUser user,
+                                                         HttpServletRequest request, HttpServletResponse response) {
+        if (user == null || user.getId() == null) {
+            return unauthorized();
         }
+        // 멘티가 보낸 매칭 요청 목록 (청크로 읽는 대로 배열 요소로 쓴다)
+        jsonArrayWriter.write(request, response, matchRequestService.streamOutgoing(user));
+        // 본문을 이미 썼으므로 null (요청 처리 완료)
+        return null;
     }
 
+    // 청크 수에 비례 (match.list.chunk-size건마다 한 번)
+    @QueryBudget(QueryBudget.UNBOUNDED)
     @GetMapping("/match-requests/incoming")
-    public ResponseEntity<?> getIncomingMatchingRequests() {
+    public ResponseEntity<?> getIncomingMatchingRequests(@AuthenticationPrincipal AuthenticatedUser user,
+                                                         HttpServletRequest request, HttpServletResponse response) {
+        if (user == null || user.getId() == null) {
+            return unauthorized();
+        }
+        // 멘토가 받은 매칭 요청 목록 (청크로 읽는 대로 배열 요소로 쓴다)
+        jsonArrayWriter.write(request, response, matchRequestService.streamIncoming(user));
+        // 본문을 이미 썼으므로 null (요청 처리 완료)
+        return null;
+    }
+
+    /**
+     * 변경 알림 (Server-Sent Events). 매칭 요청 생성/상태 변경(event: match)과 본인 프로필 수정(event: profile)을 받고,
+     * mentors=true면 멘토 카드 변경(event: mentor)도 받는다. 토큰만 확인하므로 SQL 없음.
+     * 연결이 끊기거나(느린 소비자, 타임아웃) 재연결하면 목록을 한 번 다시 읽어 놓친 변경을 맞춘다.
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeEvents(@AuthenticationPrincipal AuthenticatedUser user,
+                                      @RequestParam(defaultValue = "false") boolean mentors) {
+        if (user == null || user.getId() == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "인증이 필요합니다.");
+        }
         try {
-            // 멘토가 받은 매칭 요청 목록 (명세에 맞게 추가)
-            List<Map<String, Object>> requests = List.of(
-                Map.of(
-                    "id", 1L,
-                    "mentorId", 1L,
-                    "menteeId", 2L,
-                    "menteeName", "이멘티",
-                    "message", "Java 백엔드 개발을 배우고 싶습니다.",
-                    "status", "pending",
-                    "createdAt", "2024-01-15T10:30:00"
-                )
-            );
-            return ResponseEntity.ok(requests);
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+            return changeFeed.subscribe(user.getId(), mentors);
+        } catch (IllegalStateException e) {
+            // 이벤트 스트림 요청이라 JSON 본문 대신 상태 코드만 보낸다
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
         }
     }
 
+    // 조건부 UPDATE, 나머지 거절, 방금 거절된 요청 조회, 응답 뷰 (실패 시 원인 조회 1)
+    @QueryBudget(4)
     @PatchMapping("/match-requests/{id}")
-    public ResponseEntity<?> updateMatchingRequestStatus(@PathVariable Long id, @RequestBody UpdateStatusDto request) {
+    public ResponseEntity<?> updateMatchingRequestStatus(@AuthenticationPrincipal AuthenticatedUser user,
+                                                         @PathVariable Long id, @RequestBody UpdateStatusDto request) {
+        if (user == null || user.getId() == null) {
+            return unauthorized();
+        }
         try {
-            // 임시 구현: 상태 업데이트
-            return ResponseEntity.ok(Map.of(
-                "id", id,
-                "status", request.status,
-                "message", "요청 상태가 업데이트되었습니다."
-            ));
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+            return ResponseEntity.ok(matchRequestService.respond(user, id, request.status));
+        } catch (RuntimeException e) {
+            return matchError(e);
         }
     }
 
+    @QueryBudget(2)
     @DeleteMapping("/match-requests/{id}")
-    public ResponseEntity<?> deleteMatchingRequest(@PathVariable Long id) {
+    public ResponseEntity<?> deleteMatchingRequest(@AuthenticationPrincipal AuthenticatedUser user,
+                                                   @PathVariable Long id) {
+        if (user == null || user.getId() == null) {
+            return unauthorized();
+        }
+        // 삭제 대신 cancelled 상태로 전이
         try {
-            // 임시 구현: 매칭 요청 삭제
-            return ResponseEntity.ok(Map.of(
-                "id", id,
-                "message", "매칭 요청이 삭제되었습니다."
-            ));
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+            return ResponseEntity.ok(matchRequestService.cancel(user, id));
+        } catch (RuntimeException e) {
+            return matchError(e);
+        }
+    }
+
+    private ResponseEntity<?> unauthorized() {
+        return ResponseEntity.status(401).body(Map.of("message", "인증이 필요합니다."));
+    }
+
+    private ResponseEntity<?> matchError(RuntimeException e) {
+        int status;
+        if (e instanceof IllegalArgumentException) {
+            status = 400;
+        } else if (e instanceof SecurityException) {
+            status = 403;
+        } else if (e instanceof NoSuchElementException) {
+            status = 404;
+        } else if (e instanceof IllegalStateException) {
+            status = 409;
+        } else {
+            throw e;
         }
+        return ResponseEntity.status(status).body(Map.of("message", e.getMessage()));
     }
 
     // 매칭 관련 DTO 클래스들
@@ -339,6 +513,6 @@ public class AuthController {
     }
 
     public static class UpdateStatusDto {
-        public String status; // PENDING, ACCEPTED, REJECTED
+        public String status; // accepted, rejected (대소문자 무시)
     }
 }
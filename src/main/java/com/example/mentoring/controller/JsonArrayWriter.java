@@ -0,0 +1,64 @@
+package com.example.mentoring.controller;
+
+import com.example.mentoring.metrics.QueryBudgetAdvice;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * 목록 응답을 JSON 배열로 한 건씩 직렬화해서 바로 응답 스트림에 쓴다.
+ * 청크 단위로 읽는 Stream과 함께 쓰면 목록 전체를 List로 모으지 않으므로 요청당 메모리가 목록 길이와 무관하다.
+ * 요소마다 flush하지 않고 Tomcat 응답 버퍼(가득 차면 chunk 전송)와 gzip 압축에 맡긴다.
+ * 메시지 컨버터를 거치지 않으므로 SQL 예산 검사(QueryBudgetAdvice)는 첫 요소를 쓰기 전에 직접 호출한다.
+ */
+@Component
+public class JsonArrayWriter {
+    private final ObjectWriter writer;
+    private final QueryBudgetAdvice queryBudgetAdvice;
+
+    public JsonArrayWriter(ObjectMapper objectMapper, QueryBudgetAdvice queryBudgetAdvice) {
+        this.writer = objectMapper.writer()
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.queryBudgetAdvice = queryBudgetAdvice;
+    }
+
+    /**
+     * items를 200 응답 본문으로 쓴다. 쓰기 중 I/O 오류(클라이언트 연결 종료 등)는 UncheckedIOException.
+     */
+    public void write(HttpServletRequest request, HttpServletResponse response, Stream<?> items) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod) {
+            HandlerMethod method = (HandlerMethod) handler;
+            queryBudgetAdvice.check(method.getBeanType(), method.getMethod(), response::setHeader);
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        try {
+            ServletOutputStream out = response.getOutputStream();
+            try (SequenceWriter array = writer.writeValuesAsArray(out)) {
+                Iterator<?> it = items.iterator();
+                while (it.hasNext()) {
+                    array.write(it.next());
+                }
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.mentoring.controller;
+
+import com.example.mentoring.storage.UploadFileServer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+// 업로드된 이미지 서빙 (캐시 헤더, 조건부 GET, Range는 UploadFileServer에서 처리)
+@RestController
+public class UploadController {
+    private static final String PREFIX = "/uploads/";
+
+    @Autowired
+    private UploadFileServer uploadFileServer;
+
+    @GetMapping("/uploads/**")
+    public void serve(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        uploadFileServer.serve(path.substring(PREFIX.length()), request, response);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.mentoring.dto;
+
+import com.example.mentoring.entity.MatchStatus;
+
+import java.time.LocalDateTime;
+
+// 매칭 요청 목록 행. 멘토/멘티 이름은 조인 조회 한 번으로 함께 채운다 (JPQL 생성자 표현식)
+public class MatchRequestResponse {
+    public final Long id;
+    public final Long mentorId;
+    public final Long menteeId;
+    public final String mentorName;
+    public final String menteeName;
+    public final String message;
+    public final String status;
+    public final LocalDateTime createdAt;
+
+    public MatchRequestResponse(Long id, Long mentorId, Long menteeId, String mentorName, String menteeName,
+                                String message, MatchStatus status, LocalDateTime createdAt) {
+        this.id = id;
+        this.mentorId = mentorId;
+        this.menteeId = menteeId;
+        this.mentorName = mentorName;
+        this.menteeName = menteeName;
+        this.message = message;
+        this.status = status.value();
+        this.createdAt = createdAt;
+    }
+}
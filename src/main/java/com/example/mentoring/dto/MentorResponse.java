@@ -0,0 +1,30 @@
+package com.example.mentoring.dto;
+
+import com.example.mentoring.entity.User;
+
+import java.util.Arrays;
+
+// 멘토 목록 카드. 생성 시 스킬을 한 번만 분리해 두고 캐시에서 그대로 재사용한다 (불변)
+public class MentorResponse {
+    public final Long id;
+    public final String name;
+    public final String bio;
+    public final String profileImageUrl;
+    public final String[] skills;
+
+    public MentorResponse(User u) {
+        this.id = u.getId();
+        this.name = u.getName();
+        this.bio = u.getBio();
+        this.profileImageUrl = u.getProfileImageUrl();
+        this.skills = splitTechStack(u.getTechStack());
+    }
+
+    private static String[] splitTechStack(String techStack) {
+        if (techStack == null || techStack.isBlank()) return new String[]{};
+        return Arrays.stream(techStack.split(","))
+            .map(String::trim)
+            .filter(s -> !s.isEmpty())
+            .toArray(String[]::new);
+    }
+}
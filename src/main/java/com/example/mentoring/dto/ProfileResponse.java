@@ -0,0 +1,31 @@
+package com.example.mentoring.dto;
+
+import com.example.mentoring.entity.User;
+
+// 프로필 조회/수정 응답. 공개 컬럼만 담고 비밀번호 해시는 조회도 직렬화도 하지 않는다 (불변, 캐시에 그대로 보관)
+public class ProfileResponse {
+    public final Long id;
+    public final String email;
+    public final String role;
+    public final String name;
+    public final String bio;
+    public final String profileImageUrl;
+    public final String techStack;
+
+    // UserRepository.findProfileById의 JPQL 생성자 프로젝션
+    public ProfileResponse(Long id, String email, String role, String name, String bio,
+                           String profileImageUrl, String techStack) {
+        this.id = id;
+        this.email = email;
+        this.role = role;
+        this.name = name;
+        this.bio = bio;
+        this.profileImageUrl = profileImageUrl;
+        this.techStack = techStack;
+    }
+
+    public static ProfileResponse from(User u) {
+        return new ProfileResponse(u.getId(), u.getEmail(), u.getRole(), u.getName(), u.getBio(),
+            u.getProfileImageUrl(), u.getTechStack());
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.mentoring.dto;
+
+import com.example.mentoring.entity.User;
+
+// 회원가입 201 응답 (비밀번호 제외). 이미지가 없으면 역할별 기본 이미지
+public class SignupResponse {
+    private static final String MENTOR_PLACEHOLDER = "https://placehold.co/500x500.jpg?text=MENTOR";
+    private static final String MENTEE_PLACEHOLDER = "https://placehold.co/500x500.jpg?text=MENTEE";
+
+    public final Long id;
+    public final String email;
+    public final String name;
+    public final String role;
+    public final Profile profile;
+
+    public SignupResponse(User user) {
+        this.id = user.getId();
+        this.email = user.getEmail();
+        this.name = user.getName();
+        this.role = user.getRole();
+        this.profile = new Profile(
+            user.getName() != null ? user.getName() : "",
+            user.getBio() != null ? user.getBio() : "",
+            user.getProfileImageUrl() != null ? user.getProfileImageUrl()
+                : ("mentor".equals(user.getRole()) ? MENTOR_PLACEHOLDER : MENTEE_PLACEHOLDER));
+    }
+
+    public static class Profile {
+        public final String name;
+        public final String bio;
+        public final String image;
+
+        Profile(String name, String bio, String image) {
+            this.name = name;
+            this.bio = bio;
+            this.image = image;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.mentoring.entity;
+
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 내용 주소 방식으로 저장된 업로드 이미지 (SHA-256 해시가 키).
+ * refCount는 이 이미지를 profileImageUrl로 쓰는 사용자 수이고, 0인 채로 유예 시간이 지나면 GC 대상이 된다.
+ * 키를 직접 지정하므로 Persistable로 새 엔티티임을 알려서, save()가 merge(SELECT 후 INSERT) 대신 바로 INSERT하게 한다.
+ */
+@Entity
+@Table(name = "image_blobs", indexes = {
+    @Index(name = "idx_image_blobs_ref_touched", columnList = "refCount, touchedAt")
+})
+public class ImageBlob implements Persistable<String> {
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    @Column(nullable = false, length = 10)
+    private String extension;
+
+    @Column(nullable = false)
+    private long size;
+
+    private int width;
+    private int height;
+
+    @Column(nullable = false)
+    private int refCount;
+
+    // 마지막 업로드 시각 (같은 내용을 다시 올리면 갱신되어 GC 유예가 연장된다)
+    @Column(nullable = false)
+    private LocalDateTime touchedAt;
+
+    @Transient
+    private boolean isNew = true;
+
+    protected ImageBlob() {}
+
+    public ImageBlob(String hash, String extension, long size, int width, int height) {
+        this.hash = hash;
+        this.extension = extension;
+        this.size = size;
+        this.width = width;
+        this.height = height;
+        this.refCount = 0;
+        this.touchedAt = LocalDateTime.now();
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    @Override
+    public String getId() { return hash; }
+
+    @Override
+    public boolean isNew() { return isNew; }
+
+    public String getHash() { return hash; }
+    public String getExtension() { return extension; }
+    public long getSize() { return size; }
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+    public int getRefCount() { return refCount; }
+    public LocalDateTime getTouchedAt() { return touchedAt; }
+}
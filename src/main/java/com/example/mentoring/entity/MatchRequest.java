@@ -0,0 +1,54 @@
+package com.example.mentoring.entity;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "match_requests", indexes = {
+    @Index(name = "idx_match_requests_mentor_status", columnList = "mentor_id, status"),
+    @Index(name = "idx_match_requests_mentee_status", columnList = "mentee_id, status")
+})
+public class MatchRequest {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "mentor_id", nullable = false)
+    private User mentor;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "mentee_id", nullable = false)
+    private User mentee;
+
+    @Column(length = 1000)
+    private String message;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private MatchStatus status;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    protected MatchRequest() {}
+
+    public MatchRequest(User mentor, User mentee, String message) {
+        this.mentor = mentor;
+        this.mentee = mentee;
+        this.message = message;
+        this.status = MatchStatus.PENDING;
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
+    }
+
+    public Long getId() { return id; }
+    public User getMentor() { return mentor; }
+    public User getMentee() { return mentee; }
+    public String getMessage() { return message; }
+    public MatchStatus getStatus() { return status; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+}
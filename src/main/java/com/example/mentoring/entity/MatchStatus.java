@@ -0,0 +1,21 @@
+package com.example.mentoring.entity;
+
+import java.util.Locale;
+
+public enum MatchStatus {
+    PENDING, ACCEPTED, REJECTED, CANCELLED;
+
+    // API에서는 소문자 문자열로 주고받는다 ("pending", "accepted" ...)
+    public String value() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static MatchStatus from(String value) {
+        if (value == null) throw new IllegalArgumentException("status는 필수입니다.");
+        try {
+            return MatchStatus.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("알 수 없는 상태입니다: " + value);
+        }
+    }
+}
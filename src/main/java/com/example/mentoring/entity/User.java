@@ -1,22 +1,41 @@
 package com.example.mentoring.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import javax.persistence.*;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints = {
+    // 가입 중복 검사는 이 유니크 인덱스 하나로 한다 (조회 후 INSERT 대신 INSERT 실패를 409로 변환)
+    @UniqueConstraint(name = User.EMAIL_CANONICAL_CONSTRAINT, columnNames = "email_canonical")
+}, indexes = {
+    @Index(name = "idx_users_role", columnList = "role"),
+    @Index(name = "idx_users_role_name", columnList = "role, name, id") // 멘토 목록 이름순 키셋 페이지네이션용
+})
 public class User {
+    public static final String EMAIL_CANONICAL_CONSTRAINT = "uk_users_email_canonical";
+
+    // 시퀀스 + allocationSize로 id를 미리 할당해야 Hibernate가 INSERT를 JDBC 배치로 묶을 수 있다 (IDENTITY는 배치 불가)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
-    @Column(nullable = false, unique = true)
-    private String email;
+    @Column(nullable = false)
+    private String email; // 입력한 그대로 (표시용)
+
+    @Column(name = "email_canonical", nullable = false)
+    private String emailCanonical; // 공백 제거 + 소문자 (로그인 조회/중복 검사용)
 
     @Column(nullable = false)
     private String password;
 
     @Column(nullable = false)
-    private String role; // mentor 또는 mentee
+    private String role; // mentor, mentee 또는 admin (admin은 가입으로 만들 수 없다)
 
     @Column(nullable = false)
     private String name;
@@ -28,14 +47,22 @@ public class User {
     private String profileImageUrl; // 프로필 이미지 URL
 
     @Column(length = 500)
-    private String techStack; // 멘토만: 기술 스택(쉼표 구분)
+    private String techStack; // 멘토만: 기술 스택(쉼표 구분, 표시용 원문)
+
+    // techStack을 정규화한 스킬 태그 (user_skills 조인 테이블, 검색/색인용)
+    @ElementCollection
+    @CollectionTable(name = "user_skills",
+        joinColumns = @JoinColumn(name = "user_id"),
+        indexes = @Index(name = "idx_user_skills_skill", columnList = "skill"))
+    @Column(name = "skill", length = 500, nullable = false)
+    private Set<String> skills = new LinkedHashSet<>();
 
     // ...getter, setter, 생성자 생략...
 
     public User() {}
 
     public User(String email, String password, String role, String name) {
-        this.email = email;
+        setEmail(email);
         this.password = password;
         this.role = role;
         this.name = name;
@@ -43,7 +70,11 @@ public class User {
 
     public Long getId() { return id; }
     public String getEmail() { return email; }
-    public void setEmail(String email) { this.email = email; }
+    public void setEmail(String email) {
+        this.email = email;
+        this.emailCanonical = canonicalEmail(email);
+    }
+    public String getEmailCanonical() { return emailCanonical; }
     public String getPassword() { return password; }
     public void setPassword(String password) { this.password = password; }
     public String getRole() { return role; }
@@ -55,13 +86,40 @@ public class User {
     public String getProfileImageUrl() { return profileImageUrl; }
     public void setProfileImageUrl(String profileImageUrl) { this.profileImageUrl = profileImageUrl; }
     public String getTechStack() { return techStack; }
-    public void setTechStack(String techStack) { this.techStack = techStack; }
+    public void setTechStack(String techStack) {
+        this.techStack = techStack;
+        this.skills.clear();
+        this.skills.addAll(parseSkills(techStack));
+    }
+    @JsonIgnore
+    public Set<String> getSkills() { return Collections.unmodifiableSet(skills); }
 
     public User updateProfile(String name, String bio, String profileImageUrl, String techStack) {
         if (name != null) this.name = name;
         if (bio != null) this.bio = bio;
         if (profileImageUrl != null) this.profileImageUrl = profileImageUrl;
-        if (techStack != null) this.techStack = techStack;
+        if (techStack != null) setTechStack(techStack);
         return this;
     }
+
+    // " Mentor1@Example.com " -> "mentor1@example.com"
+    public static String canonicalEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // 가입(단건/일괄)으로 만들 수 있는 역할. admin은 DB에서 직접 부여한다
+    public static boolean isSignupRole(String role) {
+        return "mentor".equals(role) || "mentee".equals(role);
+    }
+
+    // "Java, Spring ,java" -> [java, spring] : 공백 제거, 소문자, 중복 제거
+    public static Set<String> parseSkills(String techStack) {
+        Set<String> result = new LinkedHashSet<>();
+        if (techStack == null) return result;
+        for (String token : techStack.split(",")) {
+            String skill = token.trim().toLowerCase(Locale.ROOT);
+            if (!skill.isEmpty()) result.add(skill);
+        }
+        return result;
+    }
 }
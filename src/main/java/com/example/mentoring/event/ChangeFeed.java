@@ -0,0 +1,410 @@
+package com.example.mentoring.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 매칭/프로필 변경 푸시 (SSE). 목록 폴링 대신 연결 하나로 변경을 받는다.
+ * - 이벤트는 커밋 후(@TransactionalEventListener) JSON으로 한 번만 직렬화해서 대상 연결의 큐에 넣기만 하므로
+ *   발행한 요청 스레드는 소켓 쓰기를 기다리지 않는다.
+ * - 연결마다 크기 buffer-size의 큐를 두고, 쌓인 연결만 작은 전송 풀(sse-N)이 비운다 (연결당 예약은 한 번).
+ *   큐가 가득 찬 연결은 느린 소비자로 보고 끊는다 (클라이언트는 재연결 후 목록을 한 번 다시 읽는다).
+ * - 유휴 연결은 스레드도 버퍼도 잡지 않고, heartbeat 주기 동안 아무것도 보내지 않은 연결에만 주석 한 줄을 보낸다
+ *   (프록시 유휴 타임아웃 방지, 끊긴 연결 정리).
+ * - 읽지 않는 클라이언트에 대한 쓰기는 소켓 버퍼가 차면 전송 스레드를 막는다. SseEmitter는 send() 중에
+ *   complete/completeWithError도 같은 잠금을 기다리므로 밖에서 쓰기를 중단할 수 없다. 그래서 send-timeout보다 오래
+ *   걸린 전송은 감시 작업이 연결을 끊고(reason=stalled) 막힌 스레드 몫의 스레드를 풀에 임시로 더한다
+ *   (최대 max-stalled-threads). 막힌 쓰기는 Tomcat 쓰기 타임아웃(connection-timeout)에 실패하고, 그때 임시 스레드를 돌려준다.
+ * 구독자 수는 events.sse.subscribers, 끊은 연결은 events.sse.evicted(reason=slow|replaced|stalled|error),
+ * 막힌 전송 수는 events.sse.stalled.threads, 풀은 executor.* (name=sse).
+ */
+@Component
+public class ChangeFeed {
+    private static final Logger log = LoggerFactory.getLogger(ChangeFeed.class);
+    private static final Outbound CONNECTED = new Outbound(null, null);
+    private static final Outbound HEARTBEAT = new Outbound(null, null);
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry registry;
+    private final long timeoutMillis;
+    private final long heartbeatMillis;
+    private final long retryMillis;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final int maxPerUser;
+    private final int threads;
+    private final long sendTimeoutMillis;
+    private final int maxStalledThreads;
+    private final ThreadPoolExecutor executor;
+
+    private final Map<Long, List<Subscriber>> byUser = new ConcurrentHashMap<>();
+    private final Set<Subscriber> mentorWatchers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    // 전송 중인 연결 (막힌 전송 감시용)
+    private final Set<Subscriber> sending = ConcurrentHashMap.newKeySet();
+    // 막힌 전송 대신 풀에 더한 스레드 수 (this로 동기화)
+    private int stalledThreads;
+
+    public ChangeFeed(ObjectMapper objectMapper,
+                      MeterRegistry registry,
+                      @Value("${events.sse.timeout:30m}") Duration timeout,
+                      @Value("${events.sse.heartbeat-millis:25000}") long heartbeatMillis,
+                      @Value("${events.sse.retry-millis:3000}") long retryMillis,
+                      @Value("${events.sse.buffer-size:64}") int bufferSize,
+                      @Value("${events.sse.max-subscribers:5000}") int maxSubscribers,
+                      @Value("${events.sse.max-per-user:5}") int maxPerUser,
+                      @Value("${events.sse.threads:2}") int threads,
+                      @Value("${events.sse.send-timeout:10s}") Duration sendTimeout,
+                      @Value("${events.sse.max-stalled-threads:16}") int maxStalledThreads) {
+        this.objectMapper = objectMapper;
+        this.registry = registry;
+        this.timeoutMillis = timeout.toMillis();
+        this.heartbeatMillis = heartbeatMillis;
+        this.retryMillis = retryMillis;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.maxPerUser = maxPerUser;
+        this.threads = threads;
+        this.sendTimeoutMillis = sendTimeout.toMillis();
+        this.maxStalledThreads = maxStalledThreads;
+        AtomicInteger seq = new AtomicInteger();
+        // 연결은 큐가 빌 때까지 한 번만 예약되므로 작업 큐 길이는 구독자 수를 넘지 않는다
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(),
+            r -> {
+                Thread t = new Thread(r, "sse-" + seq.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        Gauge.builder("events.sse.subscribers", subscriberCount, AtomicInteger::get).register(registry);
+        Gauge.builder("events.sse.stalled.threads", this, feed -> feed.stalledThreadCount()).register(registry);
+        new ExecutorServiceMetrics(executor, "sse", Tags.empty()).bindTo(registry);
+    }
+
+    /**
+     * 사용자의 연결을 등록한다. mentors=true면 멘토 카드 변경도 받는다.
+     * 사용자당 max-per-user를 넘으면 가장 오래된 연결을 끊고, 전체 max-subscribers를 넘으면 IllegalStateException.
+     */
+    public SseEmitter subscribe(Long userId, boolean mentors) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new IllegalStateException("실시간 연결 수가 한도에 도달했습니다. 잠시 후 다시 시도해 주세요.");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(userId, mentors, emitter);
+        emitter.onCompletion(() -> unregister(subscriber));
+        emitter.onTimeout(() -> unregister(subscriber));
+        emitter.onError(e -> unregister(subscriber));
+
+        Subscriber[] replaced = new Subscriber[1];
+        byUser.compute(userId, (id, list) -> {
+            List<Subscriber> subscribers = list != null ? list : new CopyOnWriteArrayList<>();
+            if (subscribers.size() >= maxPerUser) {
+                replaced[0] = subscribers.get(0);
+            }
+            subscribers.add(subscriber);
+            return subscribers;
+        });
+        if (mentors) {
+            mentorWatchers.add(subscriber);
+        }
+        if (replaced[0] != null) {
+            evict(replaced[0], "replaced");
+        }
+        // 첫 줄로 재연결 간격을 알려 주고 응답 헤더를 바로 내보낸다
+        enqueue(subscriber, CONNECTED);
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMatchRequestChanged(MatchRequestChangedEvent event) {
+        Outbound outbound = new Outbound("match", toJson(event.getRequest()));
+        sendToUser(event.getRequest().mentorId, outbound);
+        sendToUser(event.getRequest().menteeId, outbound);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProfileChanged(ProfileChangedEvent event) {
+        sendToUser(event.getProfile().id, new Outbound("profile", toJson(event.getProfile())));
+        if (event.getMentorCard() != null && !mentorWatchers.isEmpty()) {
+            Outbound outbound = new Outbound("mentor", toJson(event.getMentorCard()));
+            for (Subscriber subscriber : mentorWatchers) {
+                enqueue(subscriber, outbound);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${events.sse.heartbeat-millis:25000}")
+    public void heartbeat() {
+        // 주기의 절반 이상 조용했던 연결만 (연속된 두 전송 사이 간격이 주기의 1.5배를 넘지 않는다)
+        long idleSince = System.currentTimeMillis() - heartbeatMillis / 2;
+        for (List<Subscriber> subscribers : byUser.values()) {
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.lastSentMillis <= idleSince) {
+                    enqueue(subscriber, HEARTBEAT);
+                }
+            }
+        }
+    }
+
+    /**
+     * send-timeout보다 오래 걸리고 있는 전송: 연결을 끊고, 막힌 스레드 대신 풀에 스레드 하나를 더해
+     * 다른 연결의 전송이 밀리지 않게 한다.
+     */
+    @Scheduled(fixedDelayString = "${events.sse.stall-check-millis:1000}")
+    public void checkStalledSends() {
+        long startedBefore = System.currentTimeMillis() - sendTimeoutMillis;
+        for (Subscriber subscriber : sending) {
+            boolean stalled;
+            synchronized (subscriber) {
+                stalled = !subscriber.compensated && subscriber.sendStartedMillis != 0
+                    && subscriber.sendStartedMillis <= startedBefore;
+            }
+            if (!stalled) continue;
+            evict(subscriber, "stalled");
+            if (!borrowThread()) {
+                log.warn("SSE sender pool has {} stalled sends; not adding more threads", maxStalledThreads);
+                return;
+            }
+            boolean stillSending;
+            synchronized (subscriber) {
+                stillSending = subscriber.sendStartedMillis != 0;
+                subscriber.compensated = stillSending;
+            }
+            if (!stillSending) {
+                // 그 사이 전송이 끝났다
+                returnThread();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        for (List<Subscriber> subscribers : byUser.values()) {
+            for (Subscriber subscriber : subscribers) {
+                subscriber.emitter.complete();
+            }
+        }
+    }
+
+    private void sendToUser(Long userId, Outbound outbound) {
+        List<Subscriber> subscribers = byUser.get(userId);
+        if (subscribers == null) return;
+        for (Subscriber subscriber : subscribers) {
+            enqueue(subscriber, outbound);
+        }
+    }
+
+    private void enqueue(Subscriber subscriber, Outbound outbound) {
+        boolean schedule = false;
+        boolean full = false;
+        synchronized (subscriber) {
+            if (subscriber.closed) return;
+            if (subscriber.queue.size() >= bufferSize) {
+                full = true;
+            } else {
+                subscriber.queue.add(outbound);
+                schedule = !subscriber.scheduled;
+                subscriber.scheduled = true;
+            }
+        }
+        if (full) {
+            // 전송이 밀려 버퍼가 가득 찬 연결은 기다리지 않고 끊는다
+            evict(subscriber, "slow");
+        } else if (schedule) {
+            try {
+                executor.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                // 종료 중
+                unregister(subscriber);
+            }
+        }
+    }
+
+    // 전송 풀에서 연결의 큐를 비운다. 보내는 동안 들어온 이벤트도 같은 예약에서 이어서 보낸다
+    private void drain(Subscriber subscriber) {
+        while (true) {
+            Outbound outbound;
+            boolean closed;
+            synchronized (subscriber) {
+                closed = subscriber.closed;
+                outbound = closed ? null : subscriber.queue.poll();
+                if (outbound == null) {
+                    subscriber.scheduled = false;
+                } else {
+                    subscriber.sendStartedMillis = System.currentTimeMillis();
+                }
+            }
+            if (outbound == null) {
+                if (closed) {
+                    // 전송 중에 끊기로 한 연결은 쓰기가 끝난 여기서 닫는다
+                    subscriber.emitter.complete();
+                }
+                return;
+            }
+            sending.add(subscriber);
+            try {
+                subscriber.emitter.send(toEvent(outbound));
+                subscriber.lastSentMillis = System.currentTimeMillis();
+            } catch (IOException | IllegalStateException e) {
+                // 끊긴 연결: 컨테이너가 onError/onCompletion도 부르지만 먼저 정리해 둔다
+                log.debug("SSE send failed for user {}: {}", subscriber.userId, e.toString());
+                if (unregister(subscriber)) {
+                    registry.counter("events.sse.evicted", "reason", "error").increment();
+                }
+                return;
+            } finally {
+                sendFinished(subscriber);
+            }
+        }
+    }
+
+    private void sendFinished(Subscriber subscriber) {
+        sending.remove(subscriber);
+        boolean compensated;
+        synchronized (subscriber) {
+            subscriber.sendStartedMillis = 0;
+            compensated = subscriber.compensated;
+            subscriber.compensated = false;
+        }
+        if (compensated) {
+            returnThread();
+        }
+    }
+
+    // 늘릴 때는 최대 크기부터, 줄일 때는 코어 크기부터 바꾼다 (코어 > 최대는 허용되지 않는다)
+    private synchronized boolean borrowThread() {
+        if (stalledThreads >= maxStalledThreads) {
+            return false;
+        }
+        stalledThreads++;
+        executor.setMaximumPoolSize(threads + stalledThreads);
+        executor.setCorePoolSize(threads + stalledThreads);
+        return true;
+    }
+
+    private synchronized void returnThread() {
+        stalledThreads--;
+        executor.setCorePoolSize(threads + stalledThreads);
+        executor.setMaximumPoolSize(threads + stalledThreads);
+    }
+
+    private synchronized int stalledThreadCount() {
+        return stalledThreads;
+    }
+
+    private SseEmitter.SseEventBuilder toEvent(Outbound outbound) {
+        if (outbound == HEARTBEAT) {
+            return SseEmitter.event().comment("");
+        }
+        if (outbound == CONNECTED) {
+            return SseEmitter.event().reconnectTime(retryMillis).comment("connected");
+        }
+        return SseEmitter.event().name(outbound.name).data(outbound.json);
+    }
+
+    private void evict(Subscriber subscriber, String reason) {
+        boolean sending;
+        synchronized (subscriber) {
+            if (subscriber.closed) return;
+            subscriber.closed = true;
+            subscriber.queue.clear();
+            sending = subscriber.scheduled;
+        }
+        detach(subscriber);
+        registry.counter("events.sse.evicted", "reason", reason).increment();
+        log.debug("SSE subscriber for user {} evicted ({})", subscriber.userId, reason);
+        // complete()는 send()와 같은 잠금을 쓰므로, 느린 소켓에 쓰는 중이면 전송 스레드가 끝난 뒤 닫게 둔다
+        if (!sending) {
+            subscriber.emitter.complete();
+        }
+    }
+
+    // 연결 종료/타임아웃/오류 콜백과 전송 실패 시 (이미 닫혔으면 무시하고 false)
+    private boolean unregister(Subscriber subscriber) {
+        synchronized (subscriber) {
+            if (subscriber.closed) return false;
+            subscriber.closed = true;
+            subscriber.queue.clear();
+        }
+        detach(subscriber);
+        return true;
+    }
+
+    private void detach(Subscriber subscriber) {
+        byUser.computeIfPresent(subscriber.userId, (id, list) -> {
+            list.remove(subscriber);
+            return list.isEmpty() ? null : list;
+        });
+        if (subscriber.mentors) {
+            mentorWatchers.remove(subscriber);
+        }
+        subscriberCount.decrementAndGet();
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // 큐에 넣는 이벤트 (이름 + 직렬화된 JSON). 같은 이벤트의 대상 연결들이 한 인스턴스를 공유한다
+    private static final class Outbound {
+        final String name;
+        final String json;
+
+        Outbound(String name, String json) {
+            this.name = name;
+            this.json = json;
+        }
+    }
+
+    private static final class Subscriber {
+        final Long userId;
+        final boolean mentors;
+        final SseEmitter emitter;
+        // 아래 필드는 this로 동기화 (lastSentMillis 제외)
+        final ArrayDeque<Outbound> queue = new ArrayDeque<>(4);
+        boolean scheduled;
+        boolean closed;
+        long sendStartedMillis; // 전송 중이 아니면 0
+        boolean compensated; // 막힌 전송으로 보고 풀에 스레드를 더했다
+        volatile long lastSentMillis = System.currentTimeMillis();
+
+        Subscriber(Long userId, boolean mentors, SseEmitter emitter) {
+            this.userId = userId;
+            this.mentors = mentors;
+            this.emitter = emitter;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.mentoring.event;
+
+import com.example.mentoring.dto.MatchRequestResponse;
+
+// 매칭 요청 생성/상태 변경 (커밋 후 멘토와 멘티 양쪽 구독자에게 전달)
+public class MatchRequestChangedEvent {
+    private final MatchRequestResponse request;
+
+    public MatchRequestChangedEvent(MatchRequestResponse request) {
+        this.request = request;
+    }
+
+    public MatchRequestResponse getRequest() { return request; }
+}
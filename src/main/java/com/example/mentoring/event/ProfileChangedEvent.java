@@ -0,0 +1,20 @@
+package com.example.mentoring.event;
+
+import com.example.mentoring.dto.MentorResponse;
+import com.example.mentoring.dto.ProfileResponse;
+
+// 프로필 수정 (커밋 후 본인 구독자에게 프로필, 멘토면 멘토 카드 구독자에게 카드)
+public class ProfileChangedEvent {
+    private final ProfileResponse profile;
+    private final MentorResponse mentorCard;
+
+    public ProfileChangedEvent(ProfileResponse profile, MentorResponse mentorCard) {
+        this.profile = profile;
+        this.mentorCard = mentorCard;
+    }
+
+    public ProfileResponse getProfile() { return profile; }
+
+    // 멘토가 아니면 null
+    public MentorResponse getMentorCard() { return mentorCard; }
+}
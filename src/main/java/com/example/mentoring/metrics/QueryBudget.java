@@ -0,0 +1,22 @@
+package com.example.mentoring.metrics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 컨트롤러 메서드 한 번(요청 하나)이 실행해도 되는 SQL 문 수.
+ * 넘으면 QueryBudgetAdvice가 경고 로그와 http.server.queries.over.budget 카운트를 남기고,
+ * metrics.query-budget.strict=true면 500으로 실패시킨다 (개발/테스트에서 회귀를 바로 드러내기 위해).
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+    // 입력 크기에 비례해서 고정 예산을 둘 수 없는 엔드포인트 (예산/N+1 검사 모두 생략)
+    int UNBOUNDED = -1;
+
+    int value();
+}
@@ -0,0 +1,90 @@
+package com.example.mentoring.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * 응답 본문을 쓰기 직전(핸들러의 SQL이 모두 끝난 시점)에 요청의 SQL 수를 검사한다.
+ * - @QueryBudget을 넘으면 경고 로그 + http.server.queries.over.budget, strict 모드면 예외(500)
+ * - 같은 SELECT가 repeat-threshold번 이상 반복되면 N+1 의심 경고 + http.server.queries.repeated (0이면 끔)
+ * - expose-header=true면 X-Query-Count 헤더로 SQL 수를 내보낸다 (HTTP 수준 테스트/부하 테스트용)
+ */
+@ControllerAdvice
+public class QueryBudgetAdvice implements ResponseBodyAdvice<Object> {
+    private static final Logger log = LoggerFactory.getLogger(QueryBudgetAdvice.class);
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+
+    private final MeterRegistry registry;
+    private final boolean strict;
+    private final boolean exposeHeader;
+    private final int repeatThreshold;
+
+    public QueryBudgetAdvice(MeterRegistry registry,
+                             @Value("${metrics.query-budget.strict:false}") boolean strict,
+                             @Value("${metrics.query-budget.expose-header:false}") boolean exposeHeader,
+                             @Value("${metrics.query-budget.repeat-threshold:5}") int repeatThreshold) {
+        this.registry = registry;
+        this.strict = strict;
+        this.exposeHeader = exposeHeader;
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType contentType,
+                                  Class<? extends HttpMessageConverter<?>> converterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        check(returnType.getContainingClass(), returnType.getMethod(), response.getHeaders()::set);
+        return body;
+    }
+
+    /**
+     * 현재 요청의 SQL 수를 handler의 예산과 비교한다. 본문을 직접 쓰는 핸들러(JsonArrayWriter)는 쓰기 전에 호출한다.
+     */
+    public void check(Class<?> handlerType, Method handler, BiConsumer<String, String> setHeader) {
+        QueryCounter.Scope scope = QueryCounter.current();
+        if (scope == null) {
+            return;
+        }
+        if (exposeHeader) {
+            setHeader.accept(QUERY_COUNT_HEADER, String.valueOf(scope.count()));
+        }
+        QueryBudget budget = handler.getAnnotation(QueryBudget.class);
+        if (budget != null && budget.value() == QueryBudget.UNBOUNDED) {
+            return;
+        }
+        String endpoint = handlerType.getSimpleName() + "." + handler.getName();
+
+        Map.Entry<String, Integer> repeated = repeatThreshold > 0 ? scope.mostRepeatedSelect() : null;
+        if (repeated != null && repeated.getValue() >= repeatThreshold) {
+            registry.counter("http.server.queries.repeated", "endpoint", endpoint).increment();
+            log.warn("Possible N+1 in {}: same SELECT executed {} times ({} statements total): {}",
+                endpoint, repeated.getValue(), scope.count(), repeated.getKey());
+        }
+        if (budget != null && scope.count() > budget.value()) {
+            registry.counter("http.server.queries.over.budget", "endpoint", endpoint).increment();
+            log.warn("Query budget exceeded in {}: {} statements (budget {}): {}",
+                endpoint, scope.count(), budget.value(), scope.statements());
+            if (strict) {
+                throw new IllegalStateException("SQL 예산 초과: " + endpoint + " " + scope.count() + "/" + budget.value());
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.mentoring.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 요청당 SQL 문 수를 http.server.queries 분포로 기록한다 (태그: method, uri 패턴).
+ * uri는 매핑된 패턴(/api/auth/profile/{userId})이라 태그 수가 엔드포인트 수로 제한된다.
+ * 핸들러별 예산(@QueryBudget)과 N+1 검사는 응답을 쓰기 전에 QueryBudgetAdvice가 한다.
+ * 문장별 횟수는 N+1 검사(repeat-threshold > 0)나 strict 모드일 때만 모으고, 그 외에는 요청당 카운터 하나만 올린다.
+ */
+@Component
+public class QueryCountFilter extends OncePerRequestFilter {
+    private final MeterRegistry registry;
+    private final boolean recordStatements;
+
+    public QueryCountFilter(MeterRegistry registry,
+                            @Value("${metrics.query-budget.strict:false}") boolean strict,
+                            @Value("${metrics.query-budget.repeat-threshold:5}") int repeatThreshold) {
+        this.registry = registry;
+        this.recordStatements = strict || repeatThreshold > 0;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryCounter.Scope scope = QueryCounter.start(recordStatements);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            QueryCounter.stop(scope);
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder("http.server.queries")
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                .register(registry)
+                .record(scope.count());
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.mentoring.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hibernate가 준비하는 SQL 문 수를 스레드별로 센다 (SQL은 바꾸지 않고 그대로 돌려준다).
+ * QueryCountFilter가 요청마다 범위를 열고 닫으므로, 요청 밖(스케줄러, 백그라운드 작업)의 SQL은 세지 않는다.
+ * 범위는 중첩할 수 있고 바깥 범위에도 함께 더해진다.
+ * 문장별 횟수(N+1 검사, 예산 초과 로그용)는 그렇게 연 범위에서만 기록하고, 기본 범위는 개수만 센다.
+ * 배치 INSERT/UPDATE는 문장 하나로 준비되므로 대략 DB 왕복 수에 해당한다.
+ */
+public class QueryCounter implements StatementInspector {
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.add(sql);
+        }
+        return sql;
+    }
+
+    public static Scope start() {
+        return start(false);
+    }
+
+    public static Scope start(boolean recordStatements) {
+        Scope scope = new Scope(CURRENT.get(), recordStatements);
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    public static void stop(Scope scope) {
+        if (scope.parent != null) {
+            CURRENT.set(scope.parent);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    // 가장 안쪽 범위 (세는 중이 아니면 null)
+    public static Scope current() {
+        return CURRENT.get();
+    }
+
+    public static final class Scope {
+        private final Scope parent;
+        private final Map<String, Integer> statements; // 기록하지 않는 범위면 null
+        private int count;
+
+        private Scope(Scope parent, boolean recordStatements) {
+            this.parent = parent;
+            this.statements = recordStatements ? new HashMap<>() : null;
+        }
+
+        private void add(String sql) {
+            count++;
+            if (statements != null) {
+                statements.merge(sql, 1, Integer::sum);
+            }
+        }
+
+        public int count() {
+            return count;
+        }
+
+        // 문장별 실행 횟수 (기록하지 않는 범위면 빈 맵)
+        public Map<String, Integer> statements() {
+            return statements != null ? statements : Collections.emptyMap();
+        }
+
+        // 가장 많이 반복된 SELECT (N+1 후보), 없거나 기록하지 않는 범위면 null
+        public Map.Entry<String, Integer> mostRepeatedSelect() {
+            if (statements == null) {
+                return null;
+            }
+            Map.Entry<String, Integer> max = null;
+            for (Map.Entry<String, Integer> e : statements.entrySet()) {
+                if ((max == null || e.getValue() > max.getValue()) && e.getKey().regionMatches(true, 0, "select", 0, 6)) {
+                    max = e;
+                }
+            }
+            return max;
+        }
+    }
+}
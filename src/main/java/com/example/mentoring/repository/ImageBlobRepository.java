@@ -0,0 +1,34 @@
+package com.example.mentoring.repository;
+
+import com.example.mentoring.entity.ImageBlob;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ImageBlobRepository extends JpaRepository<ImageBlob, String> {
+    @Modifying
+    @Query("update ImageBlob b set b.touchedAt = :now where b.hash = :hash")
+    int touch(@Param("hash") String hash, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("update ImageBlob b set b.refCount = b.refCount + 1 where b.hash = :hash")
+    int retain(@Param("hash") String hash);
+
+    @Modifying
+    @Query("update ImageBlob b set b.refCount = b.refCount - 1, b.touchedAt = :now where b.hash = :hash and b.refCount > 0")
+    int release(@Param("hash") String hash, @Param("now") LocalDateTime now);
+
+    // 참조가 없고 유예 시간이 지난 blob (idx_image_blobs_ref_touched)
+    @Query("select b from ImageBlob b where b.refCount = 0 and b.touchedAt < :before order by b.touchedAt")
+    List<ImageBlob> findOrphans(@Param("before") LocalDateTime before, Pageable pageable);
+
+    // 그 사이 다시 참조되거나 업로드됐으면 0건
+    @Modifying
+    @Query("delete from ImageBlob b where b.hash = :hash and b.refCount = 0 and b.touchedAt < :before")
+    int deleteIfOrphan(@Param("hash") String hash, @Param("before") LocalDateTime before);
+}
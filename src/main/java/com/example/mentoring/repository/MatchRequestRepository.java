@@ -0,0 +1,87 @@
+package com.example.mentoring.repository;
+
+import com.example.mentoring.dto.MatchRequestResponse;
+import com.example.mentoring.entity.MatchRequest;
+import com.example.mentoring.entity.MatchStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface MatchRequestRepository extends JpaRepository<MatchRequest, Long> {
+    String VIEW = "select new com.example.mentoring.dto.MatchRequestResponse("
+        + "m.id, mentor.id, mentee.id, mentor.name, mentee.name, m.message, m.status, m.createdAt)"
+        + " from MatchRequest m join m.mentor mentor join m.mentee mentee";
+
+    // 멘토가 받은 요청 중 beforeId보다 오래된 것 (최신순 keyset 청크, idx_match_requests_mentor_status)
+    @Query(VIEW + " where mentor.id = :mentorId and m.id < :beforeId order by m.id desc")
+    List<MatchRequestResponse> findIncomingBefore(@Param("mentorId") Long mentorId,
+                                                  @Param("beforeId") Long beforeId,
+                                                  Pageable chunk);
+
+    // 멘티가 보낸 요청 (idx_match_requests_mentee_status)
+    @Query(VIEW + " where mentee.id = :menteeId and m.id < :beforeId order by m.id desc")
+    List<MatchRequestResponse> findOutgoingBefore(@Param("menteeId") Long menteeId,
+                                                  @Param("beforeId") Long beforeId,
+                                                  Pageable chunk);
+
+    @Query(VIEW + " where m.id = :id")
+    Optional<MatchRequestResponse> findView(@Param("id") Long id);
+
+    // rejectOtherPending이 방금 거절한 요청 (같은 트랜잭션에서 같은 now로 읽는다, 변경 알림용)
+    @Query(VIEW + " where mentor.id = :mentorId and m.id <> :acceptedId"
+        + " and m.status = com.example.mentoring.entity.MatchStatus.REJECTED and m.updatedAt = :now")
+    List<MatchRequestResponse> findRejectedAt(@Param("mentorId") Long mentorId,
+                                              @Param("acceptedId") Long acceptedId,
+                                              @Param("now") LocalDateTime now);
+
+    boolean existsByMentorIdAndMenteeIdAndStatus(Long mentorId, Long menteeId, MatchStatus status);
+
+    boolean existsByMentorIdAndStatus(Long mentorId, MatchStatus status);
+
+    // 상태 전이: 현재 상태가 from이고 요청 당사자일 때만 한 번의 UPDATE로 바꾼다 (영향 행 수 0이면 실패)
+    @Modifying
+    @Query("update MatchRequest m set m.status = :to, m.updatedAt = :now"
+        + " where m.id = :id and m.mentor.id = :mentorId and m.status = :from")
+    int transitionAsMentor(@Param("id") Long id,
+                           @Param("mentorId") Long mentorId,
+                           @Param("from") MatchStatus from,
+                           @Param("to") MatchStatus to,
+                           @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("update MatchRequest m set m.status = :to, m.updatedAt = :now"
+        + " where m.id = :id and m.mentee.id = :menteeId and m.status = :from")
+    int transitionAsMentee(@Param("id") Long id,
+                           @Param("menteeId") Long menteeId,
+                           @Param("from") MatchStatus from,
+                           @Param("to") MatchStatus to,
+                           @Param("now") LocalDateTime now);
+
+    // 수락: 같은 멘토에게 이미 수락된 요청이 없을 때만 pending -> accepted
+    @Modifying
+    @Query("update MatchRequest m set m.status = com.example.mentoring.entity.MatchStatus.ACCEPTED,"
+        + " m.updatedAt = :now"
+        + " where m.id = :id and m.mentor.id = :mentorId"
+        + " and m.status = com.example.mentoring.entity.MatchStatus.PENDING"
+        + " and not exists (select o.id from MatchRequest o where o.mentor.id = :mentorId"
+        + "                 and o.status = com.example.mentoring.entity.MatchStatus.ACCEPTED)")
+    int acceptIfNoneAccepted(@Param("id") Long id,
+                             @Param("mentorId") Long mentorId,
+                             @Param("now") LocalDateTime now);
+
+    // 수락 직후 같은 멘토의 나머지 대기 요청을 일괄 거절
+    @Modifying
+    @Query("update MatchRequest m set m.status = com.example.mentoring.entity.MatchStatus.REJECTED,"
+        + " m.updatedAt = :now"
+        + " where m.mentor.id = :mentorId and m.id <> :acceptedId"
+        + " and m.status = com.example.mentoring.entity.MatchStatus.PENDING")
+    int rejectOtherPending(@Param("mentorId") Long mentorId,
+                           @Param("acceptedId") Long acceptedId,
+                           @Param("now") LocalDateTime now);
+}
@@ -1,9 +1,78 @@
 package com.example.mentoring.repository;
 
+import com.example.mentoring.dto.ProfileResponse;
 import com.example.mentoring.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
-    Optional<User> findByEmail(String email);
+    String SKILL_FILTER = " and (:required = 0L or (select count(s) from User u2 join u2.skills s"
+        + " where u2.id = u.id and s in :skills) >= :required)";
+
+    // 정규화된 이메일로 조회 (uk_users_email_canonical 인덱스)
+    Optional<User> findByEmailCanonical(String emailCanonical);
+
+    // 일괄 가입 중복 검사: 청크의 정규화된 이메일 중 이미 있는 것만 한 번에 조회
+    @Query("select u.emailCanonical from User u where u.emailCanonical in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emailCanonicals);
+
+    // 프로필 응답용 공개 컬럼만 조회 (password 컬럼과 스킬 컬렉션은 읽지 않는다)
+    @Query("select new com.example.mentoring.dto.ProfileResponse("
+        + "u.id, u.email, u.role, u.name, u.bio, u.profileImageUrl, u.techStack) from User u where u.id = :id")
+    Optional<ProfileResponse> findProfileById(@Param("id") Long id);
+
+    // 멘토 목록: 역할/스킬 조건과 정렬을 DB로 내리고, (정렬키, id) 키셋 커서 이후 행만 조회
+    // required = 0 이면 스킬 조건 없음, 1 이면 OR, skills 개수면 AND
+    @Query("select u from User u where u.role = :role"
+        + SKILL_FILTER
+        + " and u.id > :afterId"
+        + " order by u.id")
+    List<User> findMentorsOrderById(@Param("role") String role,
+                                    @Param("skills") Collection<String> skills,
+                                    @Param("required") long required,
+                                    @Param("afterId") Long afterId,
+                                    Pageable pageable);
+
+    @Query("select u from User u where u.role = :role"
+        + SKILL_FILTER
+        + " and (u.name > :afterName or (u.name = :afterName and u.id > :afterId))"
+        + " order by u.name, u.id")
+    List<User> findMentorsOrderByName(@Param("role") String role,
+                                      @Param("skills") Collection<String> skills,
+                                      @Param("required") long required,
+                                      @Param("afterName") String afterName,
+                                      @Param("afterId") Long afterId,
+                                      Pageable pageable);
+
+    @Query("select u from User u where u.role = :role"
+        + SKILL_FILTER
+        + " and (coalesce(u.techStack, '') > :afterTechStack"
+        + "      or (coalesce(u.techStack, '') = :afterTechStack and u.id > :afterId))"
+        + " order by coalesce(u.techStack, ''), u.id")
+    List<User> findMentorsOrderByTechStack(@Param("role") String role,
+                                           @Param("skills") Collection<String> skills,
+                                           @Param("required") long required,
+                                           @Param("afterTechStack") String afterTechStack,
+                                           @Param("afterId") Long afterId,
+                                           Pageable pageable);
+
+    // 스킬 역색인 재구성용 (skill, userId) 목록
+    @Query("select s, u.id from User u join u.skills s where u.role = :role order by s, u.id")
+    List<Object[]> findSkillPostings(@Param("role") String role);
+
+    // 자유어 검색 색인 재구성용 (id, name, bio, techStack), id 순
+    @Query("select u.id, u.name, u.bio, u.techStack from User u where u.role = :role order by u.id")
+    List<Object[]> findSearchDocuments(@Param("role") String role);
+
+    // 재해시 결과 저장: 그 사이 비밀번호가 바뀌었으면 덮어쓰지 않는다
+    @Modifying
+    @Query("update User u set u.password = :newHash where u.id = :id and u.password = :oldHash")
+    int updatePasswordHash(@Param("id") Long id, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
 }
@@ -0,0 +1,32 @@
+package com.example.mentoring.security;
+
+import io.jsonwebtoken.Claims;
+
+// 검증된 액세스 토큰의 클레임으로 만든 인증 주체 (요청마다 DB 조회 없음)
+public class AuthenticatedUser {
+    private final Long id;
+    private final String email;
+    private final String name;
+    private final String role;
+
+    public AuthenticatedUser(Long id, String email, String name, String role) {
+        this.id = id;
+        this.email = email;
+        this.name = name;
+        this.role = role;
+    }
+
+    public static AuthenticatedUser from(Claims claims) {
+        Number userId = claims.get("userId", Number.class);
+        return new AuthenticatedUser(
+            userId != null ? userId.longValue() : null,
+            claims.get("email", String.class),
+            claims.get("name", String.class),
+            claims.get("role", String.class));
+    }
+
+    public Long getId() { return id; }
+    public String getEmail() { return email; }
+    public String getName() { return name; }
+    public String getRole() { return role; }
+}
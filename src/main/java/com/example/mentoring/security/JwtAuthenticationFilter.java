@@ -1,5 +1,9 @@
 package com.example.mentoring.security;
 
+import io.jsonwebtoken.Claims;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import javax.servlet.FilterChain;
@@ -7,15 +11,37 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
 
+/**
+ * Authorization: Bearer 토큰을 요청당 한 번만 파싱해서 SecurityContext에 올린다.
+ * 세션을 쓰지 않으며, 토큰이 없거나 유효하지 않으면 인증 없이 다음 필터로 넘긴다 (보호 경로는 엔트리 포인트가 401 처리).
+ */
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
-    // 임시로 간단한 필터 구현
-    // 실제로는 JWT 토큰을 검증하지만, 현재는 모든 요청을 통과시킴
-    
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtTokenProvider jwtTokenProvider;
+
+    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider) {
+        this.jwtTokenProvider = jwtTokenProvider;
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
-        // 현재는 모든 요청을 그대로 통과
+        String header = request.getHeader("Authorization");
+        if (header != null && header.startsWith(BEARER_PREFIX)
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            Claims claims = jwtTokenProvider.parseClaims(header.substring(BEARER_PREFIX.length()));
+            if (claims != null) {
+                AuthenticatedUser principal = AuthenticatedUser.from(claims);
+                String role = principal.getRole() != null ? principal.getRole().toUpperCase(Locale.ROOT) : "USER";
+                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                    principal, null, List.of(new SimpleGrantedAuthority("ROLE_" + role)));
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            }
+        }
         filterChain.doFilter(request, response);
     }
 }
@@ -1,42 +1,102 @@
 package com.example.mentoring.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
 import java.util.Date;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtTokenProvider {
+    private static final String TYPE_CLAIM = "typ";
+    private static final String ACCESS_TYPE = "access";
+    private static final String REFRESH_TYPE = "refresh";
+    private static final String FAMILY_CLAIM = "fid";
     
     private final SecretKey secretKey;
     private final String issuer = "mentoring-app";
     private final String audience = "mentoring-users";
+    private final long accessExpirationMillis;
+    private final long refreshExpirationMillis;
+    private final TokenRevocationStore revocationStore;
     
-    public JwtTokenProvider(@Value("${jwt.secret:mySecretKeyForJWTTokenGeneration123456789}") String secret) {
+    // 파서는 불변이고 스레드 안전하므로 하나를 재사용한다
+    private final JwtParser parser;
+    // 서명 구간 -> 검증된 클레임. 항목은 토큰의 exp 시각에 만료된다
+    private final Cache<String, VerifiedToken> verifiedTokens;
+    // 캐시 미스일 때의 서명 검증 + 파싱 시간 (적중률은 cache.* name=jwt.claims)
+    private final Timer validParseTimer;
+    private final Timer invalidParseTimer;
+    
+    public JwtTokenProvider(@Value("${jwt.secret:mySecretKeyForJWTTokenGeneration123456789}") String secret,
+                            @Value("${jwt.claims-cache.max-size:10000}") long claimsCacheSize,
+                            @Value("${jwt.expiration:3600000}") long accessExpirationMillis,
+                            @Value("${jwt.refresh-expiration:1209600000}") long refreshExpirationMillis,
+                            TokenRevocationStore revocationStore,
+                            MeterRegistry registry) {
         this.secretKey = Keys.hmacShaKeyFor(secret.getBytes());
+        this.accessExpirationMillis = accessExpirationMillis;
+        this.refreshExpirationMillis = refreshExpirationMillis;
+        this.revocationStore = revocationStore;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(secretKey)
+                .requireIssuer(issuer)
+                .requireAudience(audience)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(claimsCacheSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+                        long remainingMillis = value.expiresAtMillis - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, verifiedTokens, "jwt.claims");
+        this.validParseTimer = Timer.builder("auth.jwt.parse").tag("result", "valid").register(registry);
+        this.invalidParseTimer = Timer.builder("auth.jwt.parse").tag("result", "invalid").register(registry);
     }
     
-    public String generateToken(String email, String name, String role) {
+    public String generateToken(Long userId, String email, String name, String role) {
         Instant now = Instant.now();
-        Instant expiration = now.plus(1, ChronoUnit.HOURS); // 1시간 유효기간
+        Instant expiration = now.plusMillis(accessExpirationMillis); // 기본 1시간 유효기간
         
         return Jwts.builder()
                 // RFC 7519 표준 클레임들
                 .setIssuer(issuer)                           // iss
                 .setSubject(email)                          // sub (사용자 이메일)
                 .setAudience(audience)                      // aud
-                .setExpiration(Date.from(expiration))       // exp (1시간 후)
+                .setExpiration(Date.from(expiration))       // exp
                 .setNotBefore(Date.from(now))              // nbf (현재 시각부터 유효)
                 .setIssuedAt(Date.from(now))               // iat (발급 시각)
                 .setId(UUID.randomUUID().toString())        // jti (고유 ID)
                 
                 // 커스텀 클레임들
+                .claim(TYPE_CLAIM, ACCESS_TYPE)
+                .claim("userId", userId)
                 .claim("name", name)
                 .claim("email", email)
                 .claim("role", role)
@@ -45,44 +105,145 @@ public class JwtTokenProvider {
                 .compact();
     }
     
-    public boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder()
-                .setSigningKey(secretKey)
-                .requireIssuer(issuer)
-                .requireAudience(audience)
-                .build()
-                .parseClaimsJws(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
+    /**
+     * 리프레시 토큰 발급. 로그인마다 새 패밀리(fid)를 만들고, 회전(rotation) 시에는 같은 패밀리를 이어간다.
+     * 이미 사용된 리프레시 토큰이 다시 오면 탈취로 보고 패밀리 전체를 폐기한다.
+     */
+    public String generateRefreshToken(Long userId, String email, String familyId) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .setIssuer(issuer)
+                .setSubject(email)
+                .setAudience(audience)
+                .setExpiration(Date.from(now.plusMillis(refreshExpirationMillis)))
+                .setIssuedAt(Date.from(now))
+                .setId(UUID.randomUUID().toString())
+                .claim(TYPE_CLAIM, REFRESH_TYPE)
+                .claim(FAMILY_CLAIM, familyId)
+                .claim("userId", userId)
+                .signWith(secretKey, SignatureAlgorithm.HS256)
+                .compact();
+    }
+    
+    public String newRefreshFamily() {
+        return UUID.randomUUID().toString();
+    }
+    
+    /**
+     * 리프레시 토큰을 한 번 사용 처리하고 클레임을 반환한다. 유효하지 않거나 폐기되었거나 이미 사용된 경우 null.
+     */
+    public Claims consumeRefreshToken(String token) {
+        Claims claims = parseRefreshClaims(token);
+        if (claims == null) {
+            return null;
+        }
+        String familyKey = familyKey(claims);
+        if (revocationStore.isRevoked(familyKey)) {
+            return null;
+        }
+        if (!revocationStore.revokeIfAbsent(claims.getId(), claims.getExpiration().getTime())) {
+            // 이미 사용된 토큰의 재사용: 같은 패밀리의 이후 토큰까지 모두 무효화
+            revocationStore.revoke(familyKey, System.currentTimeMillis() + refreshExpirationMillis);
+            return null;
         }
+        return claims;
+    }
+    
+    // 로그아웃: 액세스 토큰의 jti와 (있다면) 리프레시 토큰 패밀리를 만료 시각까지 폐기
+    public void revoke(String accessToken, String refreshToken) {
+        Claims access = parseClaims(accessToken);
+        if (access != null && access.getId() != null) {
+            revocationStore.revoke(access.getId(), access.getExpiration().getTime());
+        }
+        Claims refresh = parseRefreshClaims(refreshToken);
+        if (refresh != null) {
+            revocationStore.revoke(familyKey(refresh), System.currentTimeMillis() + refreshExpirationMillis);
+        }
+    }
+    
+    public boolean validateToken(String token) {
+        return parseClaims(token) != null;
     }
     
     public String getEmailFromToken(String token) {
-        Claims claims = extractClaims(token);
+        Claims claims = parseClaims(token);
         return claims != null ? claims.get("email", String.class) : null;
     }
     
     public String getNameFromToken(String token) {
-        Claims claims = extractClaims(token);
+        Claims claims = parseClaims(token);
         return claims != null ? claims.get("name", String.class) : null;
     }
     
     public String getRoleFromToken(String token) {
-        Claims claims = extractClaims(token);
+        Claims claims = parseClaims(token);
         return claims != null ? claims.get("role", String.class) : null;
     }
     
-    private Claims extractClaims(String token) {
+    /**
+     * 서명/iss/aud/exp를 검증한 클레임을 반환하고, 유효하지 않으면 null.
+     * 같은 토큰이 다시 오면 캐시된 클레임을 돌려주므로 HMAC 검증과 JSON 파싱을 건너뛴다.
+     * 반환된 Claims는 공유 객체이므로 수정하면 안 된다.
+     */
+    public Claims parseClaims(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        String key = token.substring(token.lastIndexOf('.') + 1);
+        VerifiedToken cached = verifiedTokens.getIfPresent(key);
+        // 서명이 같아도 토큰 전체가 같을 때만 재사용 (HMAC이라 사실상 동일하지만 비교 비용이 작다)
+        if (cached != null && cached.token.equals(token) && cached.expiresAtMillis > System.currentTimeMillis()) {
+            return revocationStore.isRevoked(cached.claims.getId()) ? null : cached.claims;
+        }
+        long start = System.nanoTime();
+        boolean valid = false;
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            // 리프레시 토큰은 액세스 토큰으로 쓸 수 없다
+            if (REFRESH_TYPE.equals(claims.get(TYPE_CLAIM, String.class))) {
+                return null;
+            }
+            valid = true;
+            Date exp = claims.getExpiration();
+            if (exp != null) {
+                verifiedTokens.put(key, new VerifiedToken(token, claims, exp.getTime()));
+            }
+            return revocationStore.isRevoked(claims.getId()) ? null : claims;
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        } finally {
+            (valid ? validParseTimer : invalidParseTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+    
+    private Claims parseRefreshClaims(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(secretKey)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            if (!REFRESH_TYPE.equals(claims.get(TYPE_CLAIM, String.class)) || claims.getExpiration() == null) {
+                return null;
+            }
+            return claims;
         } catch (JwtException | IllegalArgumentException e) {
             return null;
         }
     }
+    
+    private static String familyKey(Claims refreshClaims) {
+        return "family:" + refreshClaims.get(FAMILY_CLAIM, String.class);
+    }
+    
+    private static final class VerifiedToken {
+        private final String token;
+        private final Claims claims;
+        private final long expiresAtMillis;
+        
+        private VerifiedToken(String token, Claims claims, long expiresAtMillis) {
+            this.token = token;
+            this.claims = claims;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
 }
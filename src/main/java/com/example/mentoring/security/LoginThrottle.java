@@ -0,0 +1,41 @@
+package com.example.mentoring.security;
+
+import com.example.mentoring.entity.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 로그인 시도 제한: 클라이언트 IP별, 이메일별 슬라이딩 윈도우.
+ * 사용자 조회와 bcrypt 검증 전에 호출되어 크리덴셜 스터핑 트래픽이 CPU를 쓰지 못하게 한다.
+ */
+@Component
+public class LoginThrottle {
+    private final SlidingWindowRateLimiter byIp;
+    private final SlidingWindowRateLimiter byEmail;
+
+    public LoginThrottle(@Value("${security.login-rate.ip-limit:30}") int ipLimit,
+                         @Value("${security.login-rate.email-limit:10}") int emailLimit,
+                         @Value("${security.login-rate.window:1m}") Duration window,
+                         @Value("${security.login-rate.max-keys:100000}") long maxKeys) {
+        this.byIp = new SlidingWindowRateLimiter(ipLimit, window, maxKeys);
+        this.byEmail = new SlidingWindowRateLimiter(emailLimit, window, maxKeys);
+    }
+
+    /**
+     * 허용되면 0, 제한되면 Retry-After로 보낼 초 단위 대기 시간.
+     */
+    public long check(String clientIp, String email) {
+        long waitMillis = byIp.tryAcquire(clientIp != null ? clientIp : "unknown");
+        if (waitMillis == 0 && email != null) {
+            waitMillis = byEmail.tryAcquire(User.canonicalEmail(email));
+        }
+        return retryAfterSeconds(waitMillis);
+    }
+
+    // 밀리초 대기를 초 단위로 올림. 제한된 경우 최소 1초
+    static long retryAfterSeconds(long waitMillis) {
+        return waitMillis == 0 ? 0 : Math.max(1, (waitMillis + 999) / 1000);
+    }
+}
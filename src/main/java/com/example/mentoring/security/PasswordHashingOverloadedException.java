@@ -0,0 +1,8 @@
+package com.example.mentoring.security;
+
+// 해시 작업 큐가 가득 찼거나 대기 시간을 넘겼을 때 (503으로 응답)
+public class PasswordHashingOverloadedException extends RuntimeException {
+    public PasswordHashingOverloadedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.mentoring.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * bcrypt 해시/검증 전용 풀.
+ * 스레드 수와 대기열 길이를 고정해서 로그인/가입 폭주가 CPU를 전부 차지하지 못하게 하고,
+ * 대기열이 가득 차면 기다리지 않고 바로 PasswordHashingOverloadedException(503)을 던진다.
+ * auth.bcrypt 타이머는 풀 스레드 안의 해시 시간만 재고, 대기열 길이/활성 스레드는 executor.* (name=bcrypt)로 본다.
+ */
+@Component
+public class PasswordHashingService {
+    private static final Logger log = LoggerFactory.getLogger(PasswordHashingService.class);
+
+    private final BCryptPasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final Timer hashTimer;
+    private final Timer verifyTimer;
+
+    public PasswordHashingService(BCryptPasswordEncoder encoder,
+                                  MeterRegistry registry,
+                                  @Value("${security.bcrypt.pool-size:0}") int poolSize,
+                                  @Value("${security.bcrypt.queue-capacity:64}") int queueCapacity,
+                                  @Value("${security.bcrypt.timeout:5s}") Duration timeout) {
+        this.encoder = encoder;
+        // 0이면 코어 수의 절반 (나머지 코어는 일반 요청 처리용으로 남긴다)
+        int threads = poolSize > 0 ? poolSize : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            r -> {
+                Thread t = new Thread(r, "bcrypt-" + seq.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+        this.timeoutMillis = timeout.toMillis();
+        this.hashTimer = Timer.builder("auth.bcrypt").tag("op", "hash").register(registry);
+        this.verifyTimer = Timer.builder("auth.bcrypt").tag("op", "verify").register(registry);
+        new ExecutorServiceMetrics(executor, "bcrypt", Tags.empty()).bindTo(registry);
+    }
+
+    public String encode(String rawPassword) {
+        return await(() -> hash(rawPassword));
+    }
+
+    /**
+     * 일괄 가입용 병렬 해시 (입력 순서대로 반환).
+     * 동시에 풀 스레드 수만큼만 제출해서 대기열을 비워 두므로, 일괄 작업 중에도 로그인/가입이 503을 받지 않는다.
+     */
+    public List<String> encodeAll(List<String> rawPasswords) {
+        int window = executor.getMaximumPoolSize();
+        List<Future<String>> futures = new ArrayList<>(rawPasswords.size());
+        List<String> result = new ArrayList<>(rawPasswords.size());
+        try {
+            for (String raw : rawPasswords) {
+                if (futures.size() - result.size() >= window) {
+                    result.add(get(futures.get(result.size())));
+                }
+                futures.add(submitWithRetry(() -> hash(raw), futures, result));
+            }
+            while (result.size() < futures.size()) {
+                result.add(get(futures.get(result.size())));
+            }
+            return result;
+        } finally {
+            for (int i = result.size(); i < futures.size(); i++) {
+                futures.get(i).cancel(true);
+            }
+        }
+    }
+
+    // 다른 요청으로 대기열이 가득 차 있으면 내 작업 하나가 끝나기를 기다렸다가 다시 제출한다
+    private Future<String> submitWithRetry(Callable<String> task, List<Future<String>> futures, List<String> done) {
+        while (true) {
+            try {
+                return executor.submit(task);
+            } catch (RejectedExecutionException e) {
+                if (done.size() == futures.size()) {
+                    throw new PasswordHashingOverloadedException("요청이 많아 잠시 후 다시 시도해 주세요.");
+                }
+                done.add(get(futures.get(done.size())));
+            }
+        }
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return await(() -> verifyTimer.record(() -> encoder.matches(rawPassword, encodedPassword)));
+    }
+
+    // 저장된 해시의 cost가 현재 설정보다 낮으면 true
+    public boolean needsRehash(String encodedPassword) {
+        return encoder.upgradeEncoding(encodedPassword);
+    }
+
+    // 로그인 성공 후 더 높은 cost로 다시 해시 (응답은 기다리지 않고, 풀이 바쁘면 다음 로그인으로 미룬다)
+    public void rehashAsync(String rawPassword, Consumer<String> onHashed) {
+        try {
+            executor.execute(() -> {
+                try {
+                    onHashed.accept(hash(rawPassword));
+                } catch (RuntimeException e) {
+                    log.warn("Password rehash failed: {}", e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException ignored) {
+            // 과부하 시에는 재해시를 건너뛴다
+        }
+    }
+
+    private String hash(String rawPassword) {
+        return hashTimer.record(() -> encoder.encode(rawPassword));
+    }
+
+    public ThreadPoolExecutor getExecutor() {
+        return executor;
+    }
+
+    private <T> T await(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new PasswordHashingOverloadedException("요청이 많아 잠시 후 다시 시도해 주세요.");
+        }
+        return get(future);
+    }
+
+    private <T> T get(Future<T> future) {
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new PasswordHashingOverloadedException("요청이 많아 잠시 후 다시 시도해 주세요.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new PasswordHashingOverloadedException("요청이 중단되었습니다.");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
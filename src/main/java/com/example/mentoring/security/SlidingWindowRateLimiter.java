@@ -0,0 +1,80 @@
+package com.example.mentoring.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+/**
+ * 키별 슬라이딩 윈도우 카운터 (직전/현재 고정 윈도우를 경과 비율로 가중한 근사).
+ * 키마다 작은 카운터 객체 하나만 두고 그 객체 단위로 동기화하므로 서로 다른 키는 경합하지 않는다.
+ * 카운터는 윈도우 두 개 동안 접근이 없으면 제거되고, 전체 키 수도 maxKeys로 제한된다.
+ */
+public class SlidingWindowRateLimiter {
+    private final int limit;
+    private final long windowMillis;
+    private final Cache<String, Window> windows;
+
+    public SlidingWindowRateLimiter(int limit, Duration window, long maxKeys) {
+        this.limit = limit;
+        this.windowMillis = window.toMillis();
+        this.windows = Caffeine.newBuilder()
+            .maximumSize(maxKeys)
+            .expireAfterAccess(window.multipliedBy(2))
+            .build();
+    }
+
+    /**
+     * 허용되면 0, 제한되면 다시 시도할 수 있을 때까지 남은 밀리초.
+     */
+    public long tryAcquire(String key) {
+        return tryAcquire(key, System.currentTimeMillis());
+    }
+
+    long tryAcquire(String key, long nowMillis) {
+        Window window = windows.get(key, k -> new Window());
+        return window.tryAcquire(nowMillis, limit, windowMillis);
+    }
+
+    public long estimatedSize() {
+        return windows.estimatedSize();
+    }
+
+    // 보류된 만료/크기 제한 정리를 지금 실행 (테스트용)
+    void cleanUp() {
+        windows.cleanUp();
+    }
+
+    private static final class Window {
+        private long index = Long.MIN_VALUE;
+        private int previousCount;
+        private int currentCount;
+
+        synchronized long tryAcquire(long nowMillis, int limit, long windowMillis) {
+            long current = nowMillis / windowMillis;
+            if (current != index) {
+                previousCount = current == index + 1 ? currentCount : 0;
+                currentCount = 0;
+                index = current;
+            }
+            long offset = nowMillis - current * windowMillis;
+            double previousWeight = 1.0 - (double) offset / windowMillis;
+            if (previousCount * previousWeight + currentCount + 1 > limit) {
+                return waitMillis(offset, limit, windowMillis);
+            }
+            currentCount++;
+            return 0;
+        }
+
+        private long waitMillis(long offset, int limit, long windowMillis) {
+            if (currentCount < limit) {
+                // 현재 윈도우 안에서 직전 윈도우 가중치가 (limit - currentCount - 1) / previousCount로 줄어드는 시점
+                double until = windowMillis * (1.0 - (double) (limit - currentCount - 1) / previousCount);
+                return Math.max(1, (long) Math.ceil(until) - offset);
+            }
+            // 현재 윈도우가 꽉 찼다: 다음 윈도우에서 지금 카운트가 직전 윈도우가 되어 한 칸 비는 시점
+            double next = windowMillis * (1.0 - (double) (limit - 1) / currentCount);
+            return windowMillis - offset + (long) Math.ceil(next);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.mentoring.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * 폐기된 토큰 식별자(jti, 리프레시 토큰 패밀리) 저장소.
+ * 조회는 해시맵 한 번(O(1), DB 없음)이고, 항목은 원래 토큰의 만료 시각이 속한 시간 버킷에 함께 기록되어
+ * 주기적인 정리에서 지난 버킷만 통째로 제거된다. 만료된 토큰은 어차피 검증에서 떨어지므로 메모리는
+ * "아직 유효했을 토큰 수"로 제한된다.
+ */
+@Component
+public class TokenRevocationStore {
+    private final long bucketMillis;
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, Set<String>> buckets = new ConcurrentSkipListMap<>();
+
+    public TokenRevocationStore(@Value("${jwt.revocation.bucket-millis:60000}") long bucketMillis) {
+        this.bucketMillis = bucketMillis;
+    }
+
+    public boolean isRevoked(String id) {
+        return id != null && revoked.containsKey(id);
+    }
+
+    public void revoke(String id, long expiresAtMillis) {
+        revokeIfAbsent(id, expiresAtMillis);
+    }
+
+    // 처음 폐기한 경우에만 true (리프레시 토큰 1회 사용 보장에 사용)
+    public boolean revokeIfAbsent(String id, long expiresAtMillis) {
+        if (id == null) return false;
+        if (revoked.putIfAbsent(id, expiresAtMillis) != null) return false;
+        // 정리 주기 안에 이미 지난 항목도 다음 정리에서 빠지도록 만료 버킷에 넣는다
+        buckets.computeIfAbsent(expiresAtMillis / bucketMillis, k -> ConcurrentHashMap.newKeySet()).add(id);
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.bucket-millis:60000}")
+    public void sweep() {
+        long currentBucket = System.currentTimeMillis() / bucketMillis;
+        ConcurrentNavigableMap<Long, Set<String>> expired = buckets.headMap(currentBucket, false);
+        for (Map.Entry<Long, Set<String>> entry : expired.entrySet()) {
+            for (String id : entry.getValue()) {
+                revoked.remove(id);
+            }
+            buckets.remove(entry.getKey());
+        }
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+}
@@ -0,0 +1,222 @@
+package com.example.mentoring.service;
+
+import com.example.mentoring.dto.MatchRequestResponse;
+import com.example.mentoring.entity.MatchRequest;
+import com.example.mentoring.entity.MatchStatus;
+import com.example.mentoring.entity.User;
+import com.example.mentoring.event.MatchRequestChangedEvent;
+import com.example.mentoring.repository.MatchRequestRepository;
+import com.example.mentoring.repository.UserRepository;
+import com.example.mentoring.security.AuthenticatedUser;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 매칭 요청 처리.
+ * 예외 규약: 잘못된 입력 IllegalArgumentException(400), 권한 없음 SecurityException(403),
+ * 없는 요청 NoSuchElementException(404), 상태 충돌 IllegalStateException(409).
+ */
+@Service
+public class MatchRequestService {
+    @Autowired
+    private MatchRequestRepository matchRequestRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MentorLockStripes lockStripes;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${match.list.chunk-size:100}")
+    private int listChunkSize;
+
+    /**
+     * 멘티의 매칭 요청 생성. 이미 수락한 멘티가 있는 멘토이거나 같은 멘토에게 대기 중인 요청이 있으면 409.
+     * 확인과 INSERT를 수락과 같은 멘토별 줄무늬 잠금 안에서 커밋까지 끝내므로, 동시에 보낸 같은 요청이 둘 다 들어가거나
+     * 수락이 커밋된 뒤에 새 대기 요청이 생기지 않는다.
+     */
+    public MatchRequestResponse create(AuthenticatedUser mentee, Long mentorId, String message) {
+        if (!"mentee".equals(mentee.getRole())) {
+            throw new SecurityException("멘티만 매칭 요청을 보낼 수 있습니다.");
+        }
+        if (mentorId == null) {
+            throw new IllegalArgumentException("mentorId는 필수입니다.");
+        }
+        ReentrantLock lock = lockStripes.lockFor(mentorId);
+        lock.lock();
+        try {
+            return transactionTemplate.execute(tx -> insert(mentee, mentorId, message));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private MatchRequestResponse insert(AuthenticatedUser mentee, Long mentorId, String message) {
+        User mentor = userRepository.findById(mentorId)
+            .filter(u -> "mentor".equals(u.getRole()))
+            .orElseThrow(() -> new IllegalArgumentException("멘토를 찾을 수 없습니다."));
+        if (matchRequestRepository.existsByMentorIdAndStatus(mentorId, MatchStatus.ACCEPTED)) {
+            throw new IllegalStateException("이미 수락한 멘티가 있는 멘토입니다.");
+        }
+        if (matchRequestRepository.existsByMentorIdAndMenteeIdAndStatus(mentorId, mentee.getId(), MatchStatus.PENDING)) {
+            throw new IllegalStateException("이미 대기 중인 요청이 있습니다.");
+        }
+        // 멘티는 토큰의 id로 참조만 걸고 엔티티를 읽지 않는다
+        User menteeRef = userRepository.getReferenceById(mentee.getId());
+        MatchRequest saved = matchRequestRepository.save(new MatchRequest(mentor, menteeRef, message));
+        return published(view(saved.getId()));
+    }
+
+    /**
+     * 멘토가 받은 요청 (최신순). 목록을 메모리에 모으지 않고 id keyset으로 chunk-size건씩 읽으며,
+     * 청크마다 짧은 읽기 트랜잭션(리포지토리 기본)으로 읽고 커넥션을 돌려준 뒤 넘긴다.
+     * 그래서 느린 클라이언트에 응답을 쓰는 동안 커넥션과 트랜잭션을 잡지 않는다 (청크 사이에 생긴 변경은 목록에 섞일 수 있다).
+     */
+    public Stream<MatchRequestResponse> streamIncoming(AuthenticatedUser mentor) {
+        Long mentorId = mentor.getId();
+        return chunked(beforeId -> matchRequestRepository.findIncomingBefore(mentorId, beforeId, PageRequest.of(0, listChunkSize)));
+    }
+
+    public Stream<MatchRequestResponse> streamOutgoing(AuthenticatedUser mentee) {
+        Long menteeId = mentee.getId();
+        return chunked(beforeId -> matchRequestRepository.findOutgoingBefore(menteeId, beforeId, PageRequest.of(0, listChunkSize)));
+    }
+
+    // 앞 청크의 마지막 id보다 작은 id로 다음 청크를 읽는다 (소비하는 만큼만, 덜 찬 청크가 마지막)
+    private Stream<MatchRequestResponse> chunked(LongFunction<List<MatchRequestResponse>> readBefore) {
+        Iterator<MatchRequestResponse> rows = new Iterator<>() {
+            private List<MatchRequestResponse> chunk = List.of();
+            private int position;
+            private boolean last;
+            private long beforeId = Long.MAX_VALUE;
+
+            @Override
+            public boolean hasNext() {
+                if (position < chunk.size()) return true;
+                if (last) return false;
+                chunk = readBefore.apply(beforeId);
+                position = 0;
+                last = chunk.size() < listChunkSize;
+                if (chunk.isEmpty()) return false;
+                beforeId = chunk.get(chunk.size() - 1).id;
+                return true;
+            }
+
+            @Override
+            public MatchRequestResponse next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return chunk.get(position++);
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(rows, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * 멘토의 수락/거절: pending일 때만 전이.
+     * 수락은 멘토별 줄무늬 잠금 안에서 트랜잭션을 커밋까지 끝내므로 같은 멘토에 대한 동시 수락이 둘 다 성공할 수 없고,
+     * 조건부 UPDATE(이미 수락된 요청이 없을 때만)가 잠금 밖의 경로에 대한 방어선이 된다.
+     */
+    public MatchRequestResponse respond(AuthenticatedUser mentor, Long requestId, String status) {
+        MatchStatus target = MatchStatus.from(status);
+        if (target == MatchStatus.REJECTED) {
+            return transactionTemplate.execute(tx -> reject(mentor, requestId));
+        }
+        if (target != MatchStatus.ACCEPTED) {
+            throw new IllegalArgumentException("status는 accepted 또는 rejected만 가능합니다.");
+        }
+        ReentrantLock lock = lockStripes.lockFor(mentor.getId());
+        lock.lock();
+        try {
+            return transactionTemplate.execute(tx -> accept(mentor, requestId));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private MatchRequestResponse accept(AuthenticatedUser mentor, Long requestId) {
+        // 컬럼 정밀도(마이크로초)에 맞춰야 아래에서 같은 now로 다시 찾을 수 있다
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        int updated = matchRequestRepository.acceptIfNoneAccepted(requestId, mentor.getId(), now);
+        if (updated == 0) {
+            throw transitionFailure(requestId, mentor.getId(), true);
+        }
+        // 거절한 뒤에 그 행들을 읽는다 (UPDATE가 잡은 행 잠금 아래라, 먼저 읽으면 그 사이 생성된 요청이 알림 없이 거절된다)
+        if (matchRequestRepository.rejectOtherPending(mentor.getId(), requestId, now) > 0) {
+            for (MatchRequestResponse other : matchRequestRepository.findRejectedAt(mentor.getId(), requestId, now)) {
+                published(other);
+            }
+        }
+        return published(view(requestId));
+    }
+
+    private MatchRequestResponse reject(AuthenticatedUser mentor, Long requestId) {
+        int updated = matchRequestRepository.transitionAsMentor(requestId, mentor.getId(),
+            MatchStatus.PENDING, MatchStatus.REJECTED, LocalDateTime.now());
+        if (updated == 0) {
+            throw transitionFailure(requestId, mentor.getId(), true);
+        }
+        return published(view(requestId));
+    }
+
+    // 멘티의 요청 취소: pending일 때만 전이
+    @Transactional
+    public MatchRequestResponse cancel(AuthenticatedUser mentee, Long requestId) {
+        int updated = matchRequestRepository.transitionAsMentee(requestId, mentee.getId(),
+            MatchStatus.PENDING, MatchStatus.CANCELLED, LocalDateTime.now());
+        if (updated == 0) {
+            throw transitionFailure(requestId, mentee.getId(), false);
+        }
+        return published(view(requestId));
+    }
+
+    // 변경 알림(ChangeFeed)은 커밋 후에 전달되고, 롤백되면 버려진다
+    private MatchRequestResponse published(MatchRequestResponse response) {
+        eventPublisher.publishEvent(new MatchRequestChangedEvent(response));
+        return response;
+    }
+
+    private MatchRequestResponse view(Long requestId) {
+        return matchRequestRepository.findView(requestId)
+            .orElseThrow(() -> new NoSuchElementException("매칭 요청을 찾을 수 없습니다."));
+    }
+
+    // 조건부 UPDATE가 0건일 때만 원인을 조회한다 (정상 경로는 UPDATE 한 번)
+    private RuntimeException transitionFailure(Long requestId, Long userId, boolean asMentor) {
+        MatchRequestResponse current = matchRequestRepository.findView(requestId).orElse(null);
+        if (current == null) {
+            return new NoSuchElementException("매칭 요청을 찾을 수 없습니다.");
+        }
+        Long ownerId = asMentor ? current.mentorId : current.menteeId;
+        if (!ownerId.equals(userId)) {
+            return new SecurityException("해당 요청에 대한 권한이 없습니다.");
+        }
+        if (MatchStatus.PENDING.value().equals(current.status)) {
+            // 본인 요청이 아직 pending인데 실패했다면 수락 조건(수락된 멘티 없음)에 걸린 것
+            return new IllegalStateException("이미 수락한 멘티가 있습니다.");
+        }
+        return new IllegalStateException("이미 처리된 요청입니다. (현재 상태: " + current.status + ")");
+    }
+}
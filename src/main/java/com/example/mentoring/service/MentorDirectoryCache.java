@@ -0,0 +1,120 @@
+package com.example.mentoring.service;
+
+import com.example.mentoring.dto.MentorResponse;
+import com.example.mentoring.dto.ProfileResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 멘토 디렉터리 읽기 캐시 (크기 + TTL 제한).
+ * - profiles: userId -> ProfileResponse (프로필 조회, 공개 컬럼만)
+ * - mentorCards: mentorId -> 미리 만들어 둔 MentorResponse
+ * - mentorPages: 검색 조건 -> 해당 페이지의 멘토 id 목록과 다음 커서
+ * 카드와 페이지를 분리해서, 소개글/이미지 변경은 카드 한 건만, 이름/스킬 변경이나 멘토 가입은 페이지만 무효화한다.
+ * 적중률/크기는 /api/admin/cache-stats(관리자 전용)와 cache.* 메트릭(name=mentor.profiles 등)으로 본다.
+ */
+@Component
+public class MentorDirectoryCache {
+    private final Cache<Long, ProfileResponse> profiles;
+    private final Cache<Long, MentorResponse> mentorCards;
+    private final Cache<PageKey, PageEntry> mentorPages;
+
+    public MentorDirectoryCache(@Value("${mentor.cache.max-size:10000}") long maxSize,
+                                @Value("${mentor.cache.page-max-size:1000}") long pageMaxSize,
+                                @Value("${mentor.cache.ttl:10m}") Duration ttl,
+                                MeterRegistry registry) {
+        this.profiles = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).recordStats().build();
+        this.mentorCards = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).recordStats().build();
+        this.mentorPages = Caffeine.newBuilder().maximumSize(pageMaxSize).expireAfterWrite(ttl).recordStats().build();
+        CaffeineCacheMetrics.monitor(registry, profiles, "mentor.profiles");
+        CaffeineCacheMetrics.monitor(registry, mentorCards, "mentor.cards");
+        CaffeineCacheMetrics.monitor(registry, mentorPages, "mentor.pages");
+    }
+
+    public Cache<Long, ProfileResponse> profiles() { return profiles; }
+    public Cache<Long, MentorResponse> mentorCards() { return mentorCards; }
+    public Cache<PageKey, PageEntry> mentorPages() { return mentorPages; }
+
+    public void invalidateProfile(Long userId) {
+        profiles.invalidate(userId);
+        mentorCards.invalidate(userId);
+    }
+
+    public void invalidatePages() {
+        mentorPages.invalidateAll();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("profiles", toMap(profiles));
+        result.put("mentorCards", toMap(mentorCards));
+        result.put("mentorPages", toMap(mentorPages));
+        return result;
+    }
+
+    private static Map<String, Object> toMap(Cache<?, ?> cache) {
+        CacheStats s = cache.stats();
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("size", cache.estimatedSize());
+        m.put("hits", s.hitCount());
+        m.put("misses", s.missCount());
+        m.put("evictions", s.evictionCount());
+        m.put("hitRate", s.hitRate());
+        return m;
+    }
+
+    // 검색 조건 (스킬은 정규화된 정렬 문자열)
+    public static final class PageKey {
+        private final String skills;
+        private final boolean matchAll;
+        private final String sortKey;
+        private final String cursor;
+        private final int size;
+
+        public PageKey(String skills, boolean matchAll, String sortKey, String cursor, int size) {
+            this.skills = skills;
+            this.matchAll = matchAll;
+            this.sortKey = sortKey;
+            this.cursor = cursor;
+            this.size = size;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof PageKey)) return false;
+            PageKey k = (PageKey) o;
+            return matchAll == k.matchAll && size == k.size && skills.equals(k.skills)
+                && sortKey.equals(k.sortKey) && Objects.equals(cursor, k.cursor);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(skills, matchAll, sortKey, cursor, size);
+        }
+    }
+
+    public static final class PageEntry {
+        private final List<Long> ids;
+        private final String nextCursor;
+
+        public PageEntry(List<Long> ids, String nextCursor) {
+            this.ids = ids;
+            this.nextCursor = nextCursor;
+        }
+
+        public List<Long> getIds() { return ids; }
+        public String getNextCursor() { return nextCursor; }
+    }
+}
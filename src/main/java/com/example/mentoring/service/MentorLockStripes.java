@@ -0,0 +1,37 @@
+package com.example.mentoring.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 멘토 id별 줄무늬(striped) 잠금.
+ * 같은 멘토에 대한 수락만 직렬화하고, 다른 멘토의 수락은 서로 다른 잠금을 잡아 병렬로 진행된다.
+ * 잠금 수가 고정이라 멘토 수와 무관하게 메모리가 일정하다.
+ *
+ * 주의: JVM 안의 잠금이라 한 인스턴스 안에서만 직렬화된다. 서버를 여러 대 띄우면
+ * 조건부 UPDATE(acceptIfNoneAccepted)의 NOT EXISTS만 남는데, READ COMMITTED에서는 서로 다른 요청을
+ * 동시에 수락하는 두 트랜잭션이 서로의 변경을 보지 못해 둘 다 성공할 수 있다(write skew).
+ * 다중 인스턴스로 운영하려면 DB에서 보장해야 한다. 예: PostgreSQL 부분 유니크 인덱스
+ * (mentor_id where status = 'ACCEPTED') 또는 멘토 행을 SELECT ... FOR UPDATE로 잠근 뒤 수락.
+ */
+@Component
+public class MentorLockStripes {
+    private final ReentrantLock[] locks;
+    private final int mask;
+
+    public MentorLockStripes(@Value("${match.lock-stripes:256}") int stripes) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1; // 2의 거듭제곱으로 올림
+        this.locks = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    public ReentrantLock lockFor(long mentorId) {
+        long h = mentorId * 0x9E3779B97F4A7C15L; // 연속된 id가 인접 줄무늬에 몰리지 않도록 섞는다
+        return locks[(int) (h >>> 32) & mask];
+    }
+}
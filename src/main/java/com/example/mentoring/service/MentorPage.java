@@ -0,0 +1,20 @@
+package com.example.mentoring.service;
+
+import com.example.mentoring.dto.MentorResponse;
+
+import java.util.List;
+
+// 멘토 목록 한 페이지와 다음 페이지 커서 (마지막 페이지면 null)
+public class MentorPage {
+    private final List<MentorResponse> content;
+    private final String nextCursor;
+
+    public MentorPage(List<MentorResponse> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<MentorResponse> getContent() { return content; }
+    public String getNextCursor() { return nextCursor; }
+    public boolean hasNext() { return nextCursor != null; }
+}
@@ -0,0 +1,433 @@
+package com.example.mentoring.service;
+
+import com.example.mentoring.repository.UserRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 멘토 자유어 검색용 역색인 (이름, 소개, 기술 스택) + BM25 점수.
+ * - 필드 가중치는 기술 스택 3, 이름 2, 소개 1로 단어 빈도에 곱하고(BM25F 단순화), 문서 길이도 가중 합으로 센다.
+ * - 단어별 posting은 id 오름차순 배열(id, 가중 빈도, 문서 길이)이고, 쓰기는 바뀐 단어의 배열만 복사해서 교체한다(SkillIndex와 같은 방식).
+ * - 질의는 단어들의 posting을 id 순으로 함께 훑으며(document-at-a-time) 점수를 매기고,
+ *   크기 k의 최소 힙으로 상위 k개만 남기므로 전체 결과를 정렬하지 않는다.
+ *   힙이 차면 MaxScore로, 점수 상한 합이 k번째 점수에 못 미치는 흔한 단어의 posting은 건너뛴다.
+ * 토큰은 소문자화 후 글자/숫자와 + # . 로 이루어진 덩어리 (c++, c#, node.js 유지). 형태소 분석/어간 추출은 하지 않는다.
+ * 처음 구성은 모든 빈이 만들어진 직후, 웹 서버가 요청을 받기 전에 한다 (빈 색인으로 검색에 답하지 않도록).
+ * 재구성 중에 들어온 index/remove는 기존 색인에 바로 반영하면서 기록해 두었다가, 새 색인으로 바꾼 뒤 다시 적용한다
+ * (재구성이 읽은 DB 스냅샷에 없는 변경이 교체로 사라지지 않도록).
+ */
+@Component
+public class MentorSearchIndex implements SmartInitializingSingleton {
+    private static final int NAME_WEIGHT = 2;
+    private static final int SKILL_WEIGHT = 3;
+    private static final int BIO_WEIGHT = 1;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int MAX_TOKEN_LENGTH = 40;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private volatile Map<String, Postings> postings = new ConcurrentHashMap<>();
+    // 문서별 단어 목록과 길이 (갱신 시 이전 posting과 전체 길이에서 빼기 위해)
+    private volatile Map<Long, Document> documents = new ConcurrentHashMap<>();
+    private volatile long totalLength;
+    // 재구성 중 들어온 쓰기 (재구성 중이 아니면 null, this로 보호)
+    private List<Runnable> pendingWrites;
+    private final Object rebuildLock = new Object();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                pendingWrites = new ArrayList<>();
+            }
+            try {
+                rebuildFromDatabase();
+            } finally {
+                synchronized (this) {
+                    pendingWrites = null;
+                }
+            }
+        }
+    }
+
+    private void rebuildFromDatabase() {
+        Map<String, PostingsBuilder> builders = new HashMap<>();
+        Map<Long, Document> docs = new ConcurrentHashMap<>();
+        long length = 0;
+        // id 순으로 오므로 posting 배열이 정렬된 채로 채워진다
+        for (Object[] row : userRepository.findSearchDocuments("mentor")) {
+            long id = ((Number) row[0]).longValue();
+            Map<String, Integer> frequencies = termFrequencies((String) row[1], (String) row[2], (String) row[3]);
+            int docLength = documentLength(frequencies);
+            for (Map.Entry<String, Integer> e : frequencies.entrySet()) {
+                builders.computeIfAbsent(e.getKey(), k -> new PostingsBuilder()).add(id, e.getValue(), docLength);
+            }
+            docs.put(id, new Document(frequencies.keySet().toArray(new String[0]), docLength));
+            length += docLength;
+        }
+        Map<String, Postings> rebuilt = new ConcurrentHashMap<>();
+        builders.forEach((term, builder) -> rebuilt.put(term, builder.build()));
+        synchronized (this) {
+            postings = rebuilt;
+            documents = docs;
+            totalLength = length;
+            for (Runnable write : pendingWrites) {
+                write.run();
+            }
+        }
+    }
+
+    // 멘토 문서를 추가하거나 새 내용으로 교체
+    public synchronized void index(long mentorId, String name, String bio, String techStack) {
+        apply(mentorId, name, bio, techStack);
+        if (pendingWrites != null) {
+            pendingWrites.add(() -> apply(mentorId, name, bio, techStack));
+        }
+    }
+
+    public synchronized void remove(long mentorId) {
+        removeTerms(mentorId);
+        if (pendingWrites != null) {
+            pendingWrites.add(() -> removeTerms(mentorId));
+        }
+    }
+
+    private void apply(long mentorId, String name, String bio, String techStack) {
+        removeTerms(mentorId);
+        Map<String, Integer> frequencies = termFrequencies(name, bio, techStack);
+        int docLength = documentLength(frequencies);
+        for (Map.Entry<String, Integer> e : frequencies.entrySet()) {
+            postings.compute(e.getKey(), (k, p) -> (p == null ? Postings.EMPTY : p).with(mentorId, e.getValue(), docLength));
+        }
+        documents.put(mentorId, new Document(frequencies.keySet().toArray(new String[0]), docLength));
+        totalLength += docLength;
+    }
+
+    private void removeTerms(long mentorId) {
+        Document old = documents.remove(mentorId);
+        if (old == null) return;
+        for (String term : old.terms) {
+            postings.computeIfPresent(term, (k, p) -> {
+                Postings removed = p.without(mentorId);
+                return removed.ids.length == 0 ? null : removed;
+            });
+        }
+        totalLength -= old.length;
+    }
+
+    /**
+     * 질의어 중 하나라도 포함한 멘토를 BM25 점수 내림차순으로 offset부터 limit개 (동점은 id 오름차순).
+     */
+    public long[] search(String query, int offset, int limit) {
+        Map<String, Postings> current = postings;
+        int docCount = documents.size();
+        double avgLength = docCount == 0 ? 1 : Math.max(1.0, (double) totalLength / docCount);
+        List<Term> found = new ArrayList<>();
+        for (String token : new LinkedHashSet<>(tokenize(query))) {
+            Postings p = current.get(token);
+            if (p != null) found.add(new Term(p, docCount, avgLength));
+        }
+        int k = offset + limit;
+        if (found.isEmpty() || limit <= 0) return new long[0];
+
+        // MaxScore: 상한이 작은 단어부터 정렬하고, 상한 누적합이 현재 k번째 점수 이하인 앞쪽 단어들은
+        // 후보를 만들지 않고(비필수) 다른 단어로 올라온 후보가 기준을 넘을 수 있을 때만 찾아본다.
+        found.sort((a, b) -> Double.compare(a.upperBound, b.upperBound));
+        Term[] terms = found.toArray(new Term[0]);
+        int n = terms.length;
+        double[] boundSum = new double[n];
+        for (int i = 0; i < n; i++) {
+            boundSum[i] = (i == 0 ? 0 : boundSum[i - 1]) + terms[i].upperBound;
+        }
+
+        // 최소 힙: 가장 약한 후보가 맨 앞 (점수 낮은 순, 동점이면 id 큰 순)
+        PriorityQueue<Hit> heap = new PriorityQueue<>(k + 1);
+        double threshold = -1;
+        int firstEssential = 0;
+        // 단어별 기여도: 최종 점수는 항상 같은 순서로 더해서 동점 판정이 탐색 경로에 따라 달라지지 않게 한다
+        double[] parts = new double[n];
+        while (true) {
+            long doc = Long.MAX_VALUE;
+            for (int i = firstEssential; i < n; i++) {
+                Term t = terms[i];
+                if (t.cursor < t.ids.length && t.ids[t.cursor] < doc) doc = t.ids[t.cursor];
+            }
+            if (doc == Long.MAX_VALUE) break;
+            Arrays.fill(parts, 0);
+            double score = 0;
+            for (int i = firstEssential; i < n; i++) {
+                Term t = terms[i];
+                if (t.cursor < t.ids.length && t.ids[t.cursor] == doc) {
+                    parts[i] = t.score(t.cursor++);
+                    score += parts[i];
+                }
+            }
+            boolean pruned = false;
+            for (int i = firstEssential - 1; i >= 0; i--) {
+                // 이후 id는 동점이어도 순위가 밀리므로 기준과 같아도 버린다
+                if (score + boundSum[i] <= threshold) {
+                    pruned = true;
+                    break;
+                }
+                Term t = terms[i];
+                int pos = t.advance(doc);
+                if (pos < t.ids.length && t.ids[pos] == doc) {
+                    parts[i] = t.score(pos);
+                    score += parts[i];
+                }
+            }
+            if (pruned) continue;
+            score = 0;
+            for (double part : parts) score += part;
+            if (heap.size() < k) {
+                heap.add(new Hit(doc, score));
+            } else if (Hit.compare(score, doc, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(new Hit(doc, score));
+            }
+            if (heap.size() == k) {
+                threshold = heap.peek().score;
+                while (firstEssential < n && boundSum[firstEssential] <= threshold) firstEssential++;
+            }
+        }
+
+        int size = Math.max(0, heap.size() - offset);
+        long[] result = new long[size];
+        // 힙에서 약한 순으로 꺼내 뒤에서부터 채우고, offset 앞부분(더 강한 후보)은 버린다
+        for (int i = heap.size() - 1; i >= 0; i--) {
+            Hit hit = heap.poll();
+            if (i < offset) break;
+            result[i - offset] = hit.id;
+        }
+        return result;
+    }
+
+    public int documentCount() {
+        return documents.size();
+    }
+
+    public int termCount() {
+        return postings.size();
+    }
+
+    static Map<String, Integer> termFrequencies(String name, String bio, String techStack) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        addTerms(frequencies, name, NAME_WEIGHT);
+        addTerms(frequencies, bio, BIO_WEIGHT);
+        addTerms(frequencies, techStack, SKILL_WEIGHT);
+        return frequencies;
+    }
+
+    private static void addTerms(Map<String, Integer> frequencies, String text, int weight) {
+        for (String token : tokenize(text)) {
+            frequencies.merge(token, weight, Integer::sum);
+        }
+    }
+
+    private static int documentLength(Map<String, Integer> frequencies) {
+        int length = 0;
+        for (int f : frequencies.values()) length += f;
+        return length;
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) return tokens;
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            char c = i < lower.length() ? lower.charAt(i) : ' ';
+            boolean part = Character.isLetterOrDigit(c) || c == '+' || c == '#' || (c == '.' && start >= 0);
+            if (part) {
+                if (start < 0) start = i;
+            } else if (start >= 0) {
+                addToken(tokens, lower, start, i);
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static void addToken(List<String> tokens, String text, int start, int end) {
+        // 문장 끝 마침표는 토큰에 넣지 않는다 ("spring." -> "spring")
+        while (end > start && text.charAt(end - 1) == '.') end--;
+        if (end > start && end - start <= MAX_TOKEN_LENGTH) {
+            tokens.add(text.substring(start, end));
+        }
+    }
+
+    private static final class Document {
+        final String[] terms;
+        final int length;
+
+        Document(String[] terms, int length) {
+            this.terms = terms;
+            this.length = length;
+        }
+    }
+
+    // 질의 중인 단어 하나: posting 커서와 BM25 상수
+    private static final class Term {
+        final long[] ids;
+        final int[] frequencies;
+        final int[] lengths;
+        final double idf;
+        final double avgLength;
+        final double upperBound;
+        int cursor;
+
+        Term(Postings p, int docCount, double avgLength) {
+            this.ids = p.ids;
+            this.frequencies = p.frequencies;
+            this.lengths = p.lengths;
+            this.avgLength = avgLength;
+            int df = p.ids.length;
+            this.idf = Math.log(1 + (docCount - df + 0.5) / (df + 0.5));
+            // 빈도가 가장 크고 문서가 가장 짧을 때의 점수 (반올림 오차만큼 여유)
+            this.upperBound = bm25(idf, p.maxFrequency, p.minLength, avgLength) * (1 + 1e-9);
+        }
+
+        double score(int pos) {
+            return bm25(idf, frequencies[pos], lengths[pos], avgLength);
+        }
+
+        // doc 이상인 첫 위치로 커서를 옮긴다
+        int advance(long doc) {
+            if (cursor < ids.length && ids[cursor] < doc) {
+                int pos = Arrays.binarySearch(ids, cursor, ids.length, doc);
+                cursor = pos >= 0 ? pos : -pos - 1;
+            }
+            return cursor;
+        }
+
+        private static double bm25(double idf, double tf, double length, double avgLength) {
+            double norm = K1 * (1 - B + B * length / avgLength);
+            return idf * tf * (K1 + 1) / (tf + norm);
+        }
+    }
+
+    // 단어 하나의 posting: id 오름차순, 같은 위치에 가중 빈도와 문서 길이.
+    // maxFrequency/minLength는 점수 상한용이라 삭제 후에는 갱신하지 않는다 (느슨해질 뿐 틀리지 않는다)
+    private static final class Postings {
+        static final Postings EMPTY = new Postings(new long[0], new int[0], new int[0], 0, Integer.MAX_VALUE);
+
+        final long[] ids;
+        final int[] frequencies;
+        final int[] lengths;
+        final int maxFrequency;
+        final int minLength;
+
+        Postings(long[] ids, int[] frequencies, int[] lengths, int maxFrequency, int minLength) {
+            this.ids = ids;
+            this.frequencies = frequencies;
+            this.lengths = lengths;
+            this.maxFrequency = maxFrequency;
+            this.minLength = minLength;
+        }
+
+        Postings with(long id, int frequency, int length) {
+            int max = Math.max(maxFrequency, frequency);
+            int min = Math.min(minLength, length);
+            int pos = Arrays.binarySearch(ids, id);
+            if (pos >= 0) {
+                int[] f = frequencies.clone();
+                int[] l = lengths.clone();
+                f[pos] = frequency;
+                l[pos] = length;
+                return new Postings(ids, f, l, max, min);
+            }
+            int at = -pos - 1;
+            return new Postings(SkillIndex.insert(ids, id), insertAt(frequencies, at, frequency),
+                insertAt(lengths, at, length), max, min);
+        }
+
+        Postings without(long id) {
+            int pos = Arrays.binarySearch(ids, id);
+            if (pos < 0) return this;
+            return new Postings(SkillIndex.remove(ids, id), removeAt(frequencies, pos), removeAt(lengths, pos),
+                maxFrequency, minLength);
+        }
+
+        private static int[] insertAt(int[] values, int at, int value) {
+            int[] result = new int[values.length + 1];
+            System.arraycopy(values, 0, result, 0, at);
+            result[at] = value;
+            System.arraycopy(values, at, result, at + 1, values.length - at);
+            return result;
+        }
+
+        private static int[] removeAt(int[] values, int at) {
+            int[] result = new int[values.length - 1];
+            System.arraycopy(values, 0, result, 0, at);
+            System.arraycopy(values, at + 1, result, at, values.length - at - 1);
+            return result;
+        }
+    }
+
+    private static final class PostingsBuilder {
+        private long[] ids = new long[4];
+        private int[] frequencies = new int[4];
+        private int[] lengths = new int[4];
+        private int size;
+        private int maxFrequency;
+        private int minLength = Integer.MAX_VALUE;
+
+        void add(long id, int frequency, int length) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+                lengths = Arrays.copyOf(lengths, size * 2);
+            }
+            ids[size] = id;
+            frequencies[size] = frequency;
+            lengths[size] = length;
+            size++;
+            maxFrequency = Math.max(maxFrequency, frequency);
+            minLength = Math.min(minLength, length);
+        }
+
+        Postings build() {
+            return new Postings(Arrays.copyOf(ids, size), Arrays.copyOf(frequencies, size), Arrays.copyOf(lengths, size),
+                maxFrequency, minLength);
+        }
+    }
+
+    private static final class Hit implements Comparable<Hit> {
+        final long id;
+        final double score;
+
+        Hit(long id, double score) {
+            this.id = id;
+            this.score = score;
+        }
+
+        // 양수면 (score, id)가 other보다 앞선다(더 좋은 결과)
+        static int compare(double score, long id, Hit other) {
+            int c = Double.compare(score, other.score);
+            return c != 0 ? c : Long.compare(other.id, id);
+        }
+
+        @Override
+        public int compareTo(Hit other) {
+            return compare(score, id, other);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.mentoring.service;
+
+import com.example.mentoring.repository.UserRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 멘토 스킬 역색인: 정규화된 스킬 -> 오름차순 정렬된 멘토 id 배열.
+ * 읽기는 잠금 없이 배열 스냅샷을 사용하고, 쓰기(프로필 변경)는 해당 스킬의 배열만 복사해서 교체한다.
+ * 처음 구성과 재구성 중 쓰기 처리는 MentorSearchIndex와 같다 (요청을 받기 전에 구성, 재구성 중 update는 교체 후 다시 적용).
+ * 재구성은 스킬 목록의 기준을 바꾸므로 끝나면 멘토 목록 페이지 캐시를 비운다.
+ */
+@Component
+public class SkillIndex implements SmartInitializingSingleton {
+    private static final long[] EMPTY = new long[0];
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MentorDirectoryCache directoryCache;
+
+    private volatile Map<String, long[]> postings = new ConcurrentHashMap<>();
+    // 재구성 중 들어온 쓰기 (재구성 중이 아니면 null, this로 보호)
+    private List<Runnable> pendingWrites;
+    private final Object rebuildLock = new Object();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                pendingWrites = new ArrayList<>();
+            }
+            try {
+                rebuildFromDatabase();
+            } finally {
+                synchronized (this) {
+                    pendingWrites = null;
+                }
+            }
+        }
+        directoryCache.invalidatePages();
+    }
+
+    private void rebuildFromDatabase() {
+        Map<String, long[]> rebuilt = new ConcurrentHashMap<>();
+        // (skill, id) 순으로 정렬되어 오므로 스킬별로 순서대로 배열을 채운다
+        String currentSkill = null;
+        long[] buffer = new long[16];
+        int size = 0;
+        for (Object[] row : userRepository.findSkillPostings("mentor")) {
+            String skill = (String) row[0];
+            long id = ((Number) row[1]).longValue();
+            if (!skill.equals(currentSkill)) {
+                if (currentSkill != null) rebuilt.put(currentSkill, Arrays.copyOf(buffer, size));
+                currentSkill = skill;
+                size = 0;
+            }
+            if (size == buffer.length) buffer = Arrays.copyOf(buffer, size * 2);
+            buffer[size++] = id;
+        }
+        if (currentSkill != null) rebuilt.put(currentSkill, Arrays.copyOf(buffer, size));
+        synchronized (this) {
+            postings = rebuilt;
+            for (Runnable write : pendingWrites) {
+                write.run();
+            }
+        }
+    }
+
+    // 스킬 변경분만 반영 (빠진 스킬에서 제거, 추가된 스킬에 삽입)
+    public synchronized void update(long mentorId, Set<String> oldSkills, Set<String> newSkills) {
+        apply(mentorId, oldSkills, newSkills);
+        if (pendingWrites != null) {
+            pendingWrites.add(() -> apply(mentorId, oldSkills, newSkills));
+        }
+    }
+
+    // 같은 변경을 두 번 적용해도 결과가 같다 (스냅샷에 이미 반영된 변경을 다시 적용하는 경우)
+    private void apply(long mentorId, Set<String> oldSkills, Set<String> newSkills) {
+        Map<String, long[]> current = postings;
+        for (String skill : oldSkills) {
+            if (!newSkills.contains(skill)) {
+                current.computeIfPresent(skill, (k, ids) -> {
+                    long[] removed = remove(ids, mentorId);
+                    return removed.length == 0 ? null : removed;
+                });
+            }
+        }
+        for (String skill : newSkills) {
+            if (!oldSkills.contains(skill)) {
+                current.compute(skill, (k, ids) -> insert(ids == null ? EMPTY : ids, mentorId));
+            }
+        }
+    }
+
+    // 모든 스킬을 가진 멘토 (AND)
+    public long[] matchAll(Collection<String> skills) {
+        if (skills.isEmpty()) return EMPTY;
+        List<long[]> lists = lookup(skills);
+        if (lists.size() < skills.size()) return EMPTY;
+        // 짧은 목록부터 교집합하면 후보가 가장 빨리 줄어든다
+        lists.sort((a, b) -> Integer.compare(a.length, b.length));
+        long[] result = lists.get(0);
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = intersect(result, lists.get(i));
+        }
+        return result;
+    }
+
+    // 하나 이상의 스킬을 가진 멘토 (OR)
+    public long[] matchAny(Collection<String> skills) {
+        long[] result = EMPTY;
+        for (long[] ids : lookup(skills)) {
+            result = union(result, ids);
+        }
+        return result;
+    }
+
+    public int skillCount() {
+        return postings.size();
+    }
+
+    private List<long[]> lookup(Collection<String> skills) {
+        Map<String, long[]> current = postings;
+        List<long[]> lists = new ArrayList<>(skills.size());
+        for (String skill : skills) {
+            long[] ids = current.get(skill);
+            if (ids != null) lists.add(ids);
+        }
+        return lists;
+    }
+
+    static long[] insert(long[] ids, long id) {
+        int pos = Arrays.binarySearch(ids, id);
+        if (pos >= 0) return ids;
+        int at = -pos - 1;
+        long[] result = new long[ids.length + 1];
+        System.arraycopy(ids, 0, result, 0, at);
+        result[at] = id;
+        System.arraycopy(ids, at, result, at + 1, ids.length - at);
+        return result;
+    }
+
+    static long[] remove(long[] ids, long id) {
+        int pos = Arrays.binarySearch(ids, id);
+        if (pos < 0) return ids;
+        long[] result = new long[ids.length - 1];
+        System.arraycopy(ids, 0, result, 0, pos);
+        System.arraycopy(ids, pos + 1, result, pos, ids.length - pos - 1);
+        return result;
+    }
+
+    static long[] intersect(long[] a, long[] b) {
+        long[] result = new long[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) i++;
+            else if (a[i] > b[j]) j++;
+            else { result[n++] = a[i]; i++; j++; }
+        }
+        return n == result.length ? result : Arrays.copyOf(result, n);
+    }
+
+    static long[] union(long[] a, long[] b) {
+        if (a.length == 0) return b;
+        if (b.length == 0) return a;
+        long[] result = new long[a.length + b.length];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) result[n++] = a[i++];
+            else if (a[i] > b[j]) result[n++] = b[j++];
+            else { result[n++] = a[i]; i++; j++; }
+        }
+        while (i < a.length) result[n++] = a[i++];
+        while (j < b.length) result[n++] = b[j++];
+        return n == result.length ? result : Arrays.copyOf(result, n);
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.mentoring.service;
+
+import com.example.mentoring.entity.User;
+import com.example.mentoring.repository.UserRepository;
+import com.example.mentoring.security.PasswordHashingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 일괄 가입. 입력을 청크 단위로 처리한다:
+ * 청크 내/이전 청크와 중복 제거 → 기존 이메일 한 번에 조회 → bcrypt 병렬 해시 → 배치 INSERT.
+ * 한 행의 오류는 그 행만 실패로 기록하고 나머지는 계속 처리한다.
+ */
+@Service
+public class UserImportService {
+    private static final String MENTOR_ROLE = "mentor";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordHashingService passwordHasher;
+
+    @Autowired
+    private MentorDirectoryCache directoryCache;
+
+    @Autowired
+    private MentorSearchIndex searchIndex;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${user.import.chunk-size:500}")
+    private int chunkSize;
+
+    public ImportResult importUsers(Iterator<Row> rows) {
+        ImportResult result = new ImportResult();
+        Set<String> seen = new HashSet<>();
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        while (rows.hasNext()) {
+            Row row = rows.next();
+            row.index = result.total++;
+            if (row.error != null) {
+                result.fail(row, row.error);
+            } else if (!seen.add(User.canonicalEmail(row.email))) {
+                result.fail(row, "요청 안에서 중복된 이메일입니다.");
+            } else {
+                chunk.add(row);
+            }
+            if (chunk.size() >= chunkSize) {
+                processChunk(chunk, result);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            processChunk(chunk, result);
+        }
+        return result;
+    }
+
+    private void processChunk(List<Row> chunk, ImportResult result) {
+        List<String> emails = new ArrayList<>(chunk.size());
+        for (Row row : chunk) emails.add(User.canonicalEmail(row.email));
+        Set<String> existing = new HashSet<>(userRepository.findExistingEmails(emails));
+
+        List<Row> fresh = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            if (existing.contains(User.canonicalEmail(row.email))) {
+                result.fail(row, "이미 존재하는 이메일입니다.");
+            } else {
+                fresh.add(row);
+            }
+        }
+        if (fresh.isEmpty()) return;
+
+        List<String> hashes;
+        try {
+            List<String> passwords = new ArrayList<>(fresh.size());
+            for (Row row : fresh) passwords.add(row.password);
+            hashes = passwordHasher.encodeAll(passwords);
+        } catch (RuntimeException e) {
+            for (Row row : fresh) result.fail(row, e.getMessage());
+            return;
+        }
+        List<User> users = new ArrayList<>(fresh.size());
+        for (int i = 0; i < fresh.size(); i++) {
+            Row row = fresh.get(i);
+            users.add(new User(row.email, hashes.get(i), row.role, row.name));
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(tx -> {
+                userRepository.saveAll(users);
+                userRepository.flush();
+            });
+            result.created += users.size();
+            index(users);
+        } catch (DataIntegrityViolationException e) {
+            // 조회 이후 다른 가입과 겹친 경우: 청크 전체 대신 행 단위로 다시 넣어 실패한 행만 골라낸다
+            saveOneByOne(fresh, hashes, result);
+        }
+        for (Row row : fresh) {
+            if (MENTOR_ROLE.equals(row.role)) {
+                directoryCache.invalidatePages();
+                break;
+            }
+        }
+    }
+
+    // 커밋된 멘토만 자유어 검색 색인에 추가
+    private void index(List<User> users) {
+        for (User user : users) {
+            if (MENTOR_ROLE.equals(user.getRole())) {
+                searchIndex.index(user.getId(), user.getName(), user.getBio(), user.getTechStack());
+            }
+        }
+    }
+
+    private void saveOneByOne(List<Row> rows, List<String> hashes, ImportResult result) {
+        for (int i = 0; i < rows.size(); i++) {
+            Row row = rows.get(i);
+            User user = new User(row.email, hashes.get(i), row.role, row.name);
+            try {
+                transactionTemplate.executeWithoutResult(tx -> userRepository.saveAndFlush(user));
+                result.created++;
+                index(List.of(user));
+            } catch (DataIntegrityViolationException e) {
+                result.fail(row, UserService.isDuplicateEmail(e) ? "이미 존재하는 이메일입니다." : "저장할 수 없는 행입니다.");
+            }
+        }
+    }
+
+    // 입력 한 행 (파싱/검증 오류가 있으면 error에 메시지)
+    public static final class Row {
+        private final String email;
+        private final String password;
+        private final String role;
+        private final String name;
+        private final String error;
+        private int index;
+
+        private Row(String email, String password, String role, String name, String error) {
+            this.email = email;
+            this.password = password;
+            this.role = role;
+            this.name = name;
+            this.error = error;
+        }
+
+        public static Row of(String email, String password, String role, String name) {
+            return new Row(email, password, role, name, null);
+        }
+
+        public static Row invalid(String email, String error) {
+            return new Row(email, null, null, null, error);
+        }
+    }
+
+    public static final class ImportResult {
+        private int total;
+        private int created;
+        private final List<Map<String, Object>> errors = new ArrayList<>();
+
+        private void fail(Row row, String message) {
+            Map<String, Object> error = new LinkedHashMap<>();
+            error.put("index", row.index);
+            error.put("email", row.email);
+            error.put("message", message);
+            errors.add(error);
+        }
+
+        public int getTotal() { return total; }
+        public int getCreated() { return created; }
+        public int getFailed() { return errors.size(); }
+        public List<Map<String, Object>> getErrors() { return errors; }
+    }
+}
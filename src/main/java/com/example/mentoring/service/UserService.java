@@ -1,62 +1,370 @@
 package com.example.mentoring.service;
 
+import com.example.mentoring.dto.MentorResponse;
+import com.example.mentoring.dto.ProfileResponse;
 import com.example.mentoring.entity.User;
+import com.example.mentoring.event.ProfileChangedEvent;
 import com.example.mentoring.repository.UserRepository;
+import com.example.mentoring.security.PasswordHashingService;
+import com.example.mentoring.storage.ImageStorageService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 
 @Service
 public class UserService {
+    private static final String MENTOR_ROLE = "mentor";
+
     @Autowired
     private UserRepository userRepository;
 
     @Autowired
-    private BCryptPasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHasher;
+
+    @Autowired
+    private SkillIndex skillIndex;
+
+    @Autowired
+    private MentorSearchIndex searchIndex;
+
+    @Autowired
+    private MentorDirectoryCache directoryCache;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ImageStorageService imageStorageService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${mentor.page.default-size:20}")
+    private int defaultPageSize;
 
+    @Value("${mentor.page.max-size:100}")
+    private int maxPageSize;
+
+    @Value("${mentor.search.max-window:1000}")
+    private int maxSearchWindow;
+
+    /**
+     * 중복 이메일(정규화 기준)은 미리 조회하지 않고 유니크 인덱스 위반으로 판단한다.
+     * 동시에 같은 이메일로 가입해도 한쪽만 성공하고, 나머지는 IllegalStateException(409).
+     * 역할은 mentor/mentee만 허용한다 (그 외 IllegalArgumentException, bcrypt 전에 거절).
+     */
     public User registerUser(String email, String password, String role, String name) {
-        if (userRepository.findByEmail(email).isPresent()) {
-            throw new RuntimeException("이미 존재하는 이메일입니다.");
+        if (!User.isSignupRole(role)) {
+            throw new IllegalArgumentException("역할은 mentor 또는 mentee만 가능합니다.");
         }
-        String encodedPassword = passwordEncoder.encode(password);
+        String encodedPassword = passwordHasher.encode(password);
         User user = new User(email, encodedPassword, role, name);
-        return userRepository.save(user);
+        User saved;
+        try {
+            saved = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            if (isDuplicateEmail(e)) {
+                throw new IllegalStateException("이미 존재하는 이메일입니다.");
+            }
+            throw e;
+        }
+        if (MENTOR_ROLE.equals(saved.getRole())) {
+            // 새 멘토가 목록 페이지에 끼어들 수 있으므로 페이지 캐시만 비운다
+            afterCommit(() -> {
+                directoryCache.invalidatePages();
+                searchIndex.index(saved.getId(), saved.getName(), saved.getBio(), saved.getTechStack());
+            });
+        }
+        return saved;
     }
 
     public Optional<User> findByEmail(String email) {
-        return userRepository.findByEmail(email);
+        return userRepository.findByEmailCanonical(User.canonicalEmail(email));
+    }
+
+    static boolean isDuplicateEmail(DataIntegrityViolationException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof ConstraintViolationException) {
+            String constraint = ((ConstraintViolationException) cause).getConstraintName();
+            return constraint != null && constraint.toLowerCase(Locale.ROOT).contains(User.EMAIL_CANONICAL_CONSTRAINT);
+        }
+        return false;
+    }
+
+    /**
+     * 비밀번호 확인 (bcrypt 전용 풀에서 수행, 과부하 시 PasswordHashingOverloadedException).
+     * 저장된 해시의 cost가 현재 설정보다 낮으면 응답과 별개로 재해시해서 저장한다.
+     */
+    public boolean checkPassword(User user, String rawPassword) {
+        String storedHash = user.getPassword();
+        if (!passwordHasher.matches(rawPassword, storedHash)) {
+            return false;
+        }
+        if (passwordHasher.needsRehash(storedHash)) {
+            Long userId = user.getId();
+            passwordHasher.rehashAsync(rawPassword, newHash -> updatePasswordHash(userId, storedHash, newHash));
+        }
+        return true;
     }
 
-    public BCryptPasswordEncoder getPasswordEncoder() {
-        return passwordEncoder;
+    private void updatePasswordHash(Long userId, String oldHash, String newHash) {
+        transactionTemplate.executeWithoutResult(tx -> userRepository.updatePasswordHash(userId, oldHash, newHash));
+        directoryCache.invalidateProfile(userId);
     }
 
+    @Transactional
     public User updateProfileFields(Long userId, String name, String bio, String profileImageUrl, String techStack) {
         User user = userRepository.findById(userId).orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+        String oldName = user.getName();
+        String oldBio = user.getBio();
+        String oldTechStack = user.getTechStack();
+        Set<String> oldSkills = new HashSet<>(user.getSkills());
+        if (profileImageUrl != null) {
+            // 업로드 이미지 참조 수 (같은 트랜잭션에서 갱신해야 GC와 어긋나지 않는다)
+            imageStorageService.switchReference(user.getProfileImageUrl(), profileImageUrl);
+        }
         user.updateProfile(name, bio, profileImageUrl, techStack);
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+
+        boolean mentor = MENTOR_ROLE.equals(saved.getRole());
+        // 정렬 키(이름)나 검색 조건(스킬)이 바뀐 경우에만 목록 페이지가 달라진다
+        boolean listingChanged = !Objects.equals(oldName, saved.getName()) || !Objects.equals(oldTechStack, saved.getTechStack());
+        boolean textChanged = listingChanged || !Objects.equals(oldBio, saved.getBio());
+        Set<String> newSkills = new HashSet<>(saved.getSkills());
+        String newName = saved.getName();
+        String newBio = saved.getBio();
+        String newTechStack = saved.getTechStack();
+        afterCommit(() -> {
+            directoryCache.invalidateProfile(userId);
+            if (mentor && techStack != null) {
+                skillIndex.update(userId, oldSkills, newSkills);
+            }
+            if (mentor && listingChanged) {
+                directoryCache.invalidatePages();
+            }
+            if (mentor && textChanged) {
+                searchIndex.index(userId, newName, newBio, newTechStack);
+            }
+        });
+        // 변경 알림(ChangeFeed)은 커밋 후에 전달된다
+        eventPublisher.publishEvent(new ProfileChangedEvent(ProfileResponse.from(saved),
+            mentor ? new MentorResponse(saved) : null));
+        return saved;
     }
 
-    public User getProfile(Long userId) {
-        return userRepository.findById(userId).orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+    // 공개 컬럼만 프로젝션으로 조회 (비밀번호/스킬 컬렉션은 읽지 않는다)
+    public ProfileResponse getProfile(Long userId) {
+        ProfileResponse user = directoryCache.profiles().get(userId, id -> userRepository.findProfileById(id).orElse(null));
+        if (user == null) {
+            throw new RuntimeException("사용자를 찾을 수 없습니다.");
+        }
+        return user;
     }
 
-    public List<User> findMentors(String techStack, String sortBy) {
-        List<User> mentors = userRepository.findAll().stream()
-            .filter(u -> "mentor".equals(u.getRole()))
-            .filter(u -> techStack == null || (u.getTechStack() != null && u.getTechStack().contains(techStack)))
-            .sorted((a, b) -> {
-                if ("name".equals(sortBy)) {
-                    return a.getName().compareToIgnoreCase(b.getName());
-                } else if ("techStack".equals(sortBy)) {
-                    return (a.getTechStack() != null ? a.getTechStack() : "").compareToIgnoreCase(b.getTechStack() != null ? b.getTechStack() : "");
+    /**
+     * techStack은 쉼표로 구분한 스킬 목록 (정확히 일치, 대소문자 무시).
+     * match가 "any"면 하나라도 가진 멘토, 그 외에는 모두 가진 멘토를 찾는다.
+     * 페이지(id 목록)와 멘토 카드는 각각 캐시되어, 캐시 적중 시 DB를 거치지 않는다.
+     * mentor.search 타이머는 정렬/조건과 페이지 캐시 적중 여부(page=hit|load)로 나눠 기록한다.
+     */
+    public MentorPage findMentors(String techStack, String match, String sortBy, String cursor, Integer size) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        int pageSize = resolvePageSize(size);
+        Set<String> skills = User.parseSkills(techStack);
+        boolean matchAll = !"any".equals(match);
+        String sortKey = "name".equals(sortBy) || "techStack".equals(sortBy) ? sortBy : "id";
+        String[] after = decodeCursor(cursor, sortKey);
+
+        MentorDirectoryCache.PageKey key = new MentorDirectoryCache.PageKey(
+            String.join(",", new TreeSet<>(skills)), matchAll, sortKey, cursor, pageSize);
+        boolean[] loaded = new boolean[1];
+        MentorDirectoryCache.PageEntry entry = directoryCache.mentorPages().get(key, k -> {
+            loaded[0] = true;
+            return loadMentorPage(skills, matchAll, sortKey, after, pageSize);
+        });
+        MentorPage page = new MentorPage(toMentorCards(entry.getIds()), entry.getNextCursor());
+        sample.stop(Timer.builder("mentor.search")
+            .tag("sort", sortKey)
+            .tag("match", matchAll ? "all" : "any")
+            .tag("page", loaded[0] ? "load" : "hit")
+            .register(meterRegistry));
+        DistributionSummary.builder("mentor.search.results").register(meterRegistry).record(page.getContent().size());
+        return page;
+    }
+
+    /**
+     * 이름/소개/기술 스택 자유어 검색 (BM25 순위, 질의어 중 하나라도 포함한 멘토).
+     * page는 0부터이고, 상위 k개만 힙으로 고르므로 (page + 1) * size는 mentor.search.max-window 이하로 제한한다.
+     */
+    public List<MentorResponse> searchMentors(String query, Integer page, Integer size) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("검색어(q)는 필수입니다.");
+        }
+        int pageSize = resolvePageSize(size);
+        int pageIndex = page == null ? 0 : page;
+        if (pageIndex < 0) {
+            throw new IllegalArgumentException("page는 0 이상이어야 합니다.");
+        }
+        long offset = (long) pageIndex * pageSize;
+        if (offset + pageSize > maxSearchWindow) {
+            throw new IllegalArgumentException("검색 결과는 앞쪽 " + maxSearchWindow + "건까지만 볼 수 있습니다.");
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        long[] ids = searchIndex.search(query, (int) offset, pageSize);
+        List<Long> idList = new ArrayList<>(ids.length);
+        for (long id : ids) idList.add(id);
+        List<MentorResponse> result = toMentorCards(idList);
+        sample.stop(meterRegistry.timer("mentor.search.fulltext"));
+        return result;
+    }
+
+    private MentorDirectoryCache.PageEntry loadMentorPage(Set<String> skills, boolean matchAll, String sortKey,
+                                                         String[] after, int pageSize) {
+        Long afterId = after == null ? 0L : Long.valueOf(after[1]);
+        String afterValue = after == null ? "" : after[0];
+
+        // id 순 정렬은 역색인의 정렬된 id 배열에서 바로 페이지를 자른다
+        if (!skills.isEmpty() && "id".equals(sortKey)) {
+            long[] ids = matchAll ? skillIndex.matchAll(skills) : skillIndex.matchAny(skills);
+            return pageFromIndex(ids, afterId, pageSize);
+        }
+
+        // 스킬 조건이 없을 때 IN ()이 되지 않도록 자리표시 값 사용
+        Collection<String> skillParam = skills.isEmpty() ? List.of("") : skills;
+        long required = skills.isEmpty() ? 0 : (matchAll ? skills.size() : 1);
+        // 다음 페이지 존재 여부 확인을 위해 한 건 더 조회
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<User> rows;
+        if ("name".equals(sortKey)) {
+            rows = userRepository.findMentorsOrderByName(MENTOR_ROLE, skillParam, required, afterValue, afterId, limit);
+        } else if ("techStack".equals(sortKey)) {
+            rows = userRepository.findMentorsOrderByTechStack(MENTOR_ROLE, skillParam, required, afterValue, afterId, limit);
+        } else {
+            rows = userRepository.findMentorsOrderById(MENTOR_ROLE, skillParam, required, afterId, limit);
+        }
+
+        List<User> content = rows.size() > pageSize ? rows.subList(0, pageSize) : rows;
+        List<Long> ids = new ArrayList<>(content.size());
+        for (User u : content) {
+            ids.add(u.getId());
+            // 이미 읽은 행으로 카드 캐시를 채워 두면 바로 이어지는 조회에서 재조회가 없다
+            directoryCache.mentorCards().put(u.getId(), new MentorResponse(u));
+        }
+        if (rows.size() <= pageSize) {
+            return new MentorDirectoryCache.PageEntry(ids, null);
+        }
+        User last = content.get(pageSize - 1);
+        return new MentorDirectoryCache.PageEntry(ids, encodeCursor(sortKey, sortValue(sortKey, last), last.getId()));
+    }
+
+    private MentorDirectoryCache.PageEntry pageFromIndex(long[] ids, long afterId, int pageSize) {
+        int pos = Arrays.binarySearch(ids, afterId);
+        int from = pos >= 0 ? pos + 1 : -pos - 1;
+        int to = Math.min(ids.length, from + pageSize);
+        List<Long> pageIds = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) pageIds.add(ids[i]);
+        if (to >= ids.length || pageIds.isEmpty()) {
+            return new MentorDirectoryCache.PageEntry(pageIds, null);
+        }
+        return new MentorDirectoryCache.PageEntry(pageIds, encodeCursor("id", "", pageIds.get(pageIds.size() - 1)));
+    }
+
+    // 캐시에 없는 카드만 한 번의 IN 조회로 채운다
+    private List<MentorResponse> toMentorCards(List<Long> ids) {
+        Map<Long, MentorResponse> cards = directoryCache.mentorCards().getAll(ids, missing -> {
+            List<Long> missingIds = new ArrayList<>();
+            missing.forEach(missingIds::add);
+            Map<Long, MentorResponse> loaded = new HashMap<>();
+            for (User u : userRepository.findAllById(missingIds)) {
+                loaded.put(u.getId(), new MentorResponse(u));
+            }
+            return loaded;
+        });
+        List<MentorResponse> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            MentorResponse card = cards.get(id);
+            if (card != null) result.add(card);
+        }
+        return result;
+    }
+
+    // 트랜잭션 안이면 커밋 이후에 실행해서, 롤백된 변경이나 커밋 전 값이 캐시/색인에 남지 않게 한다
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
                 }
-                return 0;
-            })
-            .collect(java.util.stream.Collectors.toList());
-        return mentors;
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null) return defaultPageSize;
+        if (size < 1) throw new IllegalArgumentException("size는 1 이상이어야 합니다.");
+        return Math.min(size, maxPageSize);
+    }
+
+    private static String sortValue(String sortKey, User user) {
+        if ("name".equals(sortKey)) return user.getName();
+        if ("techStack".equals(sortKey)) return user.getTechStack() != null ? user.getTechStack() : "";
+        return "";
+    }
+
+    // 커서 형식: base64url("정렬키\n정렬값\nid") - 정렬 기준이 바뀌면 무효
+    private String encodeCursor(String sortKey, String value, Long id) {
+        String raw = sortKey + "\n" + value + "\n" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor, String sortKey) {
+        if (cursor == null || cursor.isEmpty()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int first = raw.indexOf('\n');
+            int last = raw.lastIndexOf('\n');
+            if (first < 0 || first == last || !sortKey.equals(raw.substring(0, first))) {
+                throw new IllegalArgumentException("잘못된 커서입니다.");
+            }
+            String value = raw.substring(first + 1, last);
+            String id = raw.substring(last + 1);
+            Long.parseLong(id);
+            return new String[]{value, id};
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
     }
 }
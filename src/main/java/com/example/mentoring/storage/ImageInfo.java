@@ -0,0 +1,22 @@
+package com.example.mentoring.storage;
+
+// 헤더에서 읽은 이미지 형식과 크기
+public final class ImageInfo {
+    private final ImageType type;
+    private final int width;
+    private final int height;
+
+    private ImageInfo(ImageType type, int width, int height) {
+        this.type = type;
+        this.width = width;
+        this.height = height;
+    }
+
+    static ImageInfo of(ImageType type, int width, int height) {
+        return new ImageInfo(type, width, height);
+    }
+
+    public ImageType getType() { return type; }
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+}
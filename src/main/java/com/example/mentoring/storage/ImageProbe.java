@@ -0,0 +1,113 @@
+package com.example.mentoring.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * 이미지 헤더만 읽어서 형식(매직 바이트)과 가로/세로 크기를 알아낸다.
+ * 픽셀은 디코딩하지 않으므로 파일 크기와 상관없이 수십~수백 바이트만 읽는다.
+ * - PNG: 시그니처 8바이트 + IHDR 청크의 width/height
+ * - JPEG: SOI 이후 세그먼트 길이를 따라가며 첫 SOFn 마커의 height/width
+ */
+public final class ImageProbe {
+    private static final byte[] PNG_SIGNATURE = {
+        (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'
+    };
+
+    private ImageProbe() {
+    }
+
+    /**
+     * 지원하지 않는 형식이거나 헤더가 깨져 있으면 null.
+     */
+    public static ImageInfo probe(FileChannel channel) throws IOException {
+        ByteBuffer head = read(channel, 0, 24);
+        if (head == null) {
+            return null;
+        }
+        if (isPng(head)) {
+            // 시그니처(8) + 청크 길이(4) + "IHDR"(4) + width(4) + height(4)
+            if (head.getInt(12) != 0x49484452) {
+                return null;
+            }
+            return ImageInfo.of(ImageType.PNG, head.getInt(16), head.getInt(20));
+        }
+        if ((head.get(0) & 0xFF) == 0xFF && (head.get(1) & 0xFF) == 0xD8) {
+            return probeJpeg(channel);
+        }
+        return null;
+    }
+
+    private static boolean isPng(ByteBuffer head) {
+        for (int i = 0; i < PNG_SIGNATURE.length; i++) {
+            if (head.get(i) != PNG_SIGNATURE[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static ImageInfo probeJpeg(FileChannel channel) throws IOException {
+        long position = 2;
+        long size = channel.size();
+        while (position + 4 <= size) {
+            ByteBuffer marker = read(channel, position, 2);
+            if (marker == null || (marker.get(0) & 0xFF) != 0xFF) {
+                return null;
+            }
+            int code = marker.get(1) & 0xFF;
+            if (code == 0xFF) {
+                // 채움 바이트
+                position++;
+                continue;
+            }
+            if (code == 0x01 || (code >= 0xD0 && code <= 0xD7)) {
+                // 길이 필드가 없는 단독 마커
+                position += 2;
+                continue;
+            }
+            if (code == 0xD9 || code == 0xDA) {
+                // 프레임 헤더 전에 이미지 끝/스캔 시작이 나오면 잘못된 파일
+                return null;
+            }
+            if (isStartOfFrame(code)) {
+                // 길이(2) + 정밀도(1) + height(2) + width(2)
+                ByteBuffer frame = read(channel, position + 2, 7);
+                if (frame == null) {
+                    return null;
+                }
+                int height = frame.getShort(3) & 0xFFFF;
+                int width = frame.getShort(5) & 0xFFFF;
+                return ImageInfo.of(ImageType.JPEG, width, height);
+            }
+            ByteBuffer length = read(channel, position + 2, 2);
+            if (length == null) {
+                return null;
+            }
+            int segmentLength = length.getShort(0) & 0xFFFF;
+            if (segmentLength < 2) {
+                return null;
+            }
+            position += 2 + segmentLength;
+        }
+        return null;
+    }
+
+    // SOF0~SOF15 중 DHT(C4), JPG(C8), DAC(CC)는 프레임 헤더가 아니다
+    private static boolean isStartOfFrame(int code) {
+        return code >= 0xC0 && code <= 0xCF && code != 0xC4 && code != 0xC8 && code != 0xCC;
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            int n = channel.read(buffer, position + buffer.position());
+            if (n < 0) {
+                return null;
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+}
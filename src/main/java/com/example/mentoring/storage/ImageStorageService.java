@@ -0,0 +1,268 @@
+package com.example.mentoring.storage;
+
+import com.example.mentoring.entity.ImageBlob;
+import com.example.mentoring.repository.ImageBlobRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 프로필 이미지 저장 (내용 주소 방식).
+ * 업로드 스트림을 SHA-256으로 해시하면서 채널로 임시 파일에 한 번만 기록하고(BufferedImage 없음),
+ * multipart 한도와 메모리 보관 기준을 upload.image.max-bytes에 맞춰 두었으므로 컨테이너가 먼저 디스크에 쓰지 않는다.
+ * 헤더로 형식과 크기를 검증한 뒤 {해시 앞 2자}/{다음 2자}/{해시}.{확장자} 경로로 원자적 이동한다.
+ * 같은 내용은 한 번만 저장되고, 사용자 profileImageUrl 참조 수가 0인 채로 유예 시간이 지난 blob은 주기적으로 삭제된다.
+ * upload.store 타이머(result=stored|duplicate)는 수신/해시/헤더 검증/이동까지, upload.bytes는 저장에 성공한 업로드 크기.
+ */
+@Service
+public class ImageStorageService {
+    private static final Logger log = LoggerFactory.getLogger(ImageStorageService.class);
+    private static final Pattern BLOB_URL = Pattern.compile("^/uploads/[0-9a-f]{2}/[0-9a-f]{2}/([0-9a-f]{64})\\.(png|jpg)$");
+    private static final int LOCK_STRIPES = 64;
+    private static final int GC_BATCH = 100;
+
+    private final Path uploadPath;
+    private final Path tempPath;
+    private final long maxBytes;
+    private final int maxDimension;
+    private final Duration gcGrace;
+    private final ThumbnailService thumbnailService;
+    private final ImageBlobRepository blobRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry registry;
+    private final DistributionSummary uploadBytes;
+    // 같은 해시에 대한 업로드와 GC 삭제를 직렬화 (DB 행과 파일을 함께 다루므로)
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+
+    public ImageStorageService(ThumbnailService thumbnailService,
+                               ImageBlobRepository blobRepository,
+                               TransactionTemplate transactionTemplate,
+                               MeterRegistry registry,
+                               @Value("${upload.dir:uploads}") String uploadDir,
+                               @Value("${upload.image.max-bytes:1048576}") long maxBytes,
+                               @Value("${upload.image.max-dimension:2000}") int maxDimension,
+                               @Value("${upload.gc.grace:1h}") Duration gcGrace) throws IOException {
+        this.uploadPath = Paths.get(uploadDir).toAbsolutePath();
+        // 같은 파일시스템 안에 두어야 ATOMIC_MOVE가 가능하다
+        this.tempPath = uploadPath.resolve(".tmp");
+        this.maxBytes = maxBytes;
+        this.maxDimension = maxDimension;
+        this.gcGrace = gcGrace;
+        this.thumbnailService = thumbnailService;
+        this.blobRepository = blobRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.registry = registry;
+        this.uploadBytes = DistributionSummary.builder("upload.bytes").baseUnit("bytes").register(registry);
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        Files.createDirectories(tempPath);
+    }
+
+    public Path getUploadPath() {
+        return uploadPath;
+    }
+
+    /**
+     * 검증 실패는 IllegalArgumentException(400), 디스크 오류는 IOException.
+     * 이미 있는 내용이면 파일은 다시 쓰지 않고 기존 URL을 돌려준다.
+     */
+    public StoredImage store(MultipartFile file) throws IOException {
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException("파일이 비어 있습니다.");
+        }
+        if (file.getSize() > maxBytes) {
+            throw new IllegalArgumentException("파일 크기는 최대 " + (maxBytes / 1024) + "KB까지 허용됩니다.");
+        }
+        Timer.Sample sample = Timer.start(registry);
+        Path temp = Files.createTempFile(tempPath, "upload-", ".part");
+        try {
+            MessageDigest digest = sha256();
+            long size;
+            ImageInfo info;
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest);
+                 ReadableByteChannel source = Channels.newChannel(in);
+                 FileChannel target = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                size = copy(source, target);
+                info = validate(target);
+                target.force(false);
+            }
+            String hash = toHex(digest.digest());
+            String name = relativePath(hash, info.getType().extension());
+            Path target = uploadPath.resolve(name);
+
+            boolean stored = false;
+            ReentrantLock lock = lockFor(hash);
+            lock.lock();
+            try {
+                // 행을 먼저 기록/갱신해서, 파일 이동이 실패해도 GC가 정리할 수 있게 한다
+                transactionTemplate.executeWithoutResult(tx -> {
+                    if (blobRepository.touch(hash, LocalDateTime.now()) == 0) {
+                        blobRepository.save(new ImageBlob(hash, info.getType().extension(), size, info.getWidth(), info.getHeight()));
+                    }
+                });
+                if (!Files.exists(target)) {
+                    Files.createDirectories(target.getParent());
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                    stored = true;
+                    // 썸네일은 백그라운드에서 (요청 스레드는 리사이즈하지 않는다)
+                    thumbnailService.submit(target, info);
+                }
+            } finally {
+                lock.unlock();
+            }
+            uploadBytes.record(size);
+            sample.stop(registry.timer("upload.store", "result", stored ? "stored" : "duplicate"));
+            return new StoredImage(name, "/uploads/" + name, info);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private long copy(ReadableByteChannel source, FileChannel target) throws IOException {
+        long written = 0;
+        long n;
+        // 선언된 크기를 믿지 않고 기록한 바이트로 한도를 다시 확인한다
+        while ((n = target.transferFrom(source, written, maxBytes + 1 - written)) > 0) {
+            written += n;
+            if (written > maxBytes) {
+                throw new IllegalArgumentException("파일 크기는 최대 " + (maxBytes / 1024) + "KB까지 허용됩니다.");
+            }
+        }
+        return written;
+    }
+
+    private ImageInfo validate(FileChannel channel) throws IOException {
+        ImageInfo info = ImageProbe.probe(channel);
+        if (info == null) {
+            throw new IllegalArgumentException(".jpg 또는 .png 파일만 업로드 가능합니다.");
+        }
+        int width = info.getWidth();
+        int height = info.getHeight();
+        if (width < 1 || width > maxDimension || height < 1 || height > maxDimension) {
+            throw new IllegalArgumentException("이미지 크기는 1x1 ~ " + maxDimension + "x" + maxDimension + " 픽셀이어야 합니다.");
+        }
+        if (width != height) {
+            log.info("정사각형 이미지를 권장합니다. (현재: {}x{})", width, height);
+        }
+        return info;
+    }
+
+    /**
+     * 프로필 이미지 변경 시 참조 수 갱신 (호출자의 트랜잭션 안에서).
+     * 업로드 저장소의 URL이 아니면(외부 이미지 등) 무시하고, 저장소 URL인데 blob이 없으면 IllegalArgumentException.
+     */
+    public void switchReference(String oldUrl, String newUrl) {
+        if (Objects.equals(oldUrl, newUrl)) {
+            return;
+        }
+        String newHash = hashOf(newUrl);
+        if (newHash != null && blobRepository.retain(newHash) == 0) {
+            throw new IllegalArgumentException("업로드된 이미지를 찾을 수 없습니다.");
+        }
+        String oldHash = hashOf(oldUrl);
+        if (oldHash != null) {
+            blobRepository.release(oldHash, LocalDateTime.now());
+        }
+    }
+
+    // 참조 없는 blob 정리: 행을 조건부로 지운 경우에만 원본과 썸네일 파일을 삭제한다
+    @Scheduled(fixedDelayString = "${upload.gc.interval-millis:600000}")
+    public void collectGarbage() {
+        LocalDateTime before = LocalDateTime.now().minus(gcGrace);
+        int removed = 0;
+        List<ImageBlob> orphans;
+        do {
+            orphans = blobRepository.findOrphans(before, PageRequest.of(0, GC_BATCH));
+            for (ImageBlob blob : orphans) {
+                if (delete(blob, before)) removed++;
+            }
+        } while (orphans.size() == GC_BATCH);
+        if (removed > 0) {
+            log.info("Image GC removed {} orphan blobs", removed);
+        }
+    }
+
+    private boolean delete(ImageBlob blob, LocalDateTime before) {
+        ReentrantLock lock = lockFor(blob.getHash());
+        lock.lock();
+        try {
+            Integer deleted = transactionTemplate.execute(tx -> blobRepository.deleteIfOrphan(blob.getHash(), before));
+            if (deleted == null || deleted == 0) {
+                return false;
+            }
+            Path original = uploadPath.resolve(relativePath(blob.getHash(), blob.getExtension()));
+            try {
+                for (int size : thumbnailService.getSizes()) {
+                    Files.deleteIfExists(ThumbnailService.variantPath(original, size));
+                }
+                Files.deleteIfExists(original);
+            } catch (IOException e) {
+                log.warn("Failed to delete blob {}: {}", blob.getHash(), e.getMessage());
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    static String hashOf(String url) {
+        if (url == null) return null;
+        Matcher m = BLOB_URL.matcher(url);
+        return m.matches() ? m.group(1) : null;
+    }
+
+    // ab/cd/abcd...ef.png : 해시 앞 4자로 2단계 샤딩해서 디렉터리당 항목 수를 제한한다
+    static String relativePath(String hash, String extension) {
+        return hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash + "." + extension;
+    }
+
+    private ReentrantLock lockFor(String hash) {
+        return locks[(hash.hashCode() & 0x7fffffff) % LOCK_STRIPES];
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.mentoring.storage;
+
+public enum ImageType {
+    PNG("png", "image/png"),
+    JPEG("jpg", "image/jpeg");
+
+    private final String extension;
+    private final String contentType;
+
+    ImageType(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+}
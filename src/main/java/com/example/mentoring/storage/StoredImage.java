@@ -0,0 +1,18 @@
+package com.example.mentoring.storage;
+
+// 저장이 끝난 업로드 이미지 (응답용 URL과 헤더 정보)
+public final class StoredImage {
+    private final String filename;
+    private final String url;
+    private final ImageInfo info;
+
+    public StoredImage(String filename, String url, ImageInfo info) {
+        this.filename = filename;
+        this.url = url;
+        this.info = info;
+    }
+
+    public String getFilename() { return filename; }
+    public String getUrl() { return url; }
+    public ImageInfo getInfo() { return info; }
+}
@@ -0,0 +1,217 @@
+package com.example.mentoring.storage;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 업로드 이미지의 고정 크기 변형(썸네일) 생성.
+ * 업로드 요청은 작업을 큐에 넣기만 하고 바로 응답하며, 리사이즈는 전용 스레드에서만 한다.
+ * 큐가 가득 차면 작업을 버리고(rejected 카운트), 변형이 없는 동안에는 원본이 그대로 서빙된다.
+ * 변형 파일명: {원본 이름}_{크기}.{확장자} (긴 변 기준, 원본보다 크게 만들지 않음)
+ * 디코딩 시간은 upload.decode, 변형 전체 생성 시간은 upload.thumbnail 타이머, 풀 상태는 executor.* (name=thumbnail).
+ */
+@Service
+public class ThumbnailService {
+    private static final Logger log = LoggerFactory.getLogger(ThumbnailService.class);
+
+    private final int[] sizes;
+    private final ThreadPoolExecutor executor;
+
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final Timer decodeTimer;
+    private final Timer thumbnailTimer;
+
+    public ThumbnailService(@Value("${upload.thumbnail.sizes:64,200,500}") int[] sizes,
+                            @Value("${upload.thumbnail.threads:1}") int threads,
+                            @Value("${upload.thumbnail.queue-capacity:100}") int queueCapacity,
+                            MeterRegistry registry) {
+        this.sizes = Arrays.stream(sizes).sorted().distinct().toArray();
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            r -> {
+                Thread t = new Thread(r, "thumbnail-" + seq.incrementAndGet());
+                t.setDaemon(true);
+                t.setPriority(Thread.MIN_PRIORITY);
+                return t;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+        this.decodeTimer = Timer.builder("upload.decode").register(registry);
+        this.thumbnailTimer = Timer.builder("upload.thumbnail").register(registry);
+        new ExecutorServiceMetrics(executor, "thumbnail", Tags.empty()).bindTo(registry);
+    }
+
+    /**
+     * 변형 생성을 예약한다. 큐가 가득 차 있으면 false (원본만 서빙).
+     */
+    public boolean submit(Path original, ImageInfo info) {
+        submitted.incrementAndGet();
+        try {
+            executor.execute(() -> process(original, info));
+            return true;
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            log.warn("Thumbnail queue full, skipping {}", original.getFileName());
+            return false;
+        }
+    }
+
+    /**
+     * 요청한 크기 이상인 가장 작은 변형 크기. 가장 큰 변형보다 크게 요청하면 0 (원본).
+     */
+    public int variantSizeFor(int requested) {
+        for (int size : sizes) {
+            if (size >= requested) return size;
+        }
+        return 0;
+    }
+
+    public int[] getSizes() {
+        return sizes.clone();
+    }
+
+    public static Path variantPath(Path original, int size) {
+        String name = original.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String variant = dot < 0 ? name + "_" + size : name.substring(0, dot) + "_" + size + name.substring(dot);
+        return original.resolveSibling(variant);
+    }
+
+    private void process(Path original, ImageInfo info) {
+        long start = System.nanoTime();
+        try {
+            long decodeStart = System.nanoTime();
+            BufferedImage source = decode(original, info);
+            decodeTimer.record(System.nanoTime() - decodeStart, TimeUnit.NANOSECONDS);
+            // 큰 변형부터 만들고, 작은 변형은 직전 결과에서 줄인다
+            for (int i = sizes.length - 1; i >= 0; i--) {
+                int size = sizes[i];
+                if (Math.max(info.getWidth(), info.getHeight()) <= size) {
+                    // 원본보다 크게 만들지 않는다 (서빙 시 원본으로 대체)
+                    continue;
+                }
+                source = scale(source, size, info.getType());
+                write(source, info.getType(), variantPath(original, size));
+            }
+            completed.incrementAndGet();
+        } catch (IOException | RuntimeException e) {
+            failed.incrementAndGet();
+            log.warn("Thumbnail generation failed for {}: {}", original.getFileName(), e.getMessage());
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            thumbnailTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            totalNanos.addAndGet(elapsed);
+            maxNanos.accumulateAndGet(elapsed, Math::max);
+        }
+    }
+
+    // 가장 큰 변형 크기에 맞춰 서브샘플링하며 디코딩해서 원본 해상도 전체를 메모리에 올리지 않는다
+    private BufferedImage decode(Path original, ImageInfo info) throws IOException {
+        int longest = Math.max(info.getWidth(), info.getHeight());
+        int step = Math.max(1, longest / sizes[sizes.length - 1]);
+        try (ImageInputStream in = ImageIO.createImageInputStream(original.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                throw new IOException("지원하지 않는 이미지 형식입니다.");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage scale(BufferedImage source, int size, ImageType type) {
+        int w = source.getWidth();
+        int h = source.getHeight();
+        if (Math.max(w, h) <= size) {
+            return source;
+        }
+        double ratio = (double) size / Math.max(w, h);
+        int tw = Math.max(1, (int) Math.round(w * ratio));
+        int th = Math.max(1, (int) Math.round(h * ratio));
+        int imageType = type == ImageType.PNG ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage target = new BufferedImage(tw, th, imageType);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, 0, 0, tw, th, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    // 임시 파일에 쓰고 원자적으로 이동해서 반쯤 쓰인 변형이 서빙되지 않게 한다
+    private static void write(BufferedImage image, ImageType type, Path target) throws IOException {
+        Path temp = Files.createTempFile(target.getParent(), ".thumb-", ".part");
+        try {
+            if (!ImageIO.write(image, type == ImageType.PNG ? "png" : "jpg", temp.toFile())) {
+                throw new IOException("이미지 인코더가 없습니다: " + type);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        long done = completed.get() + failed.get();
+        m.put("queueDepth", executor.getQueue().size());
+        m.put("queueRemaining", executor.getQueue().remainingCapacity());
+        m.put("active", executor.getActiveCount());
+        m.put("submitted", submitted.get());
+        m.put("rejected", rejected.get());
+        m.put("completed", completed.get());
+        m.put("failed", failed.get());
+        m.put("avgMillis", done == 0 ? 0.0 : totalNanos.get() / 1_000_000.0 / done);
+        m.put("maxMillis", maxNanos.get() / 1_000_000.0);
+        return m;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,237 @@
+package com.example.mentoring.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * /uploads/** 파일 응답.
+ * - 내용 주소 URL(해시 경로)은 내용이 절대 바뀌지 않으므로 해시 기반 강한 ETag + 1년 immutable 캐시
+ * - 이전 방식(평면 디렉터리) 파일은 수정 시각/크기 기반 ETag + 짧은 캐시
+ * - If-None-Match / If-Modified-Since → 304, 단일 Range(If-Range 포함) → 206
+ * - 본문은 Tomcat sendfile이 가능하면 커널에 맡기고, 아니면 FileChannel.transferTo로 보낸다
+ * ?size=N 이면 N 이상인 가장 작은 썸네일을, 썸네일이 아직 없으면 원본을 보낸다.
+ * 원본으로 대신한 응답은 같은 URL이 곧 썸네일로 바뀌므로 no-cache(매번 ETag 재검증)로 보낸다.
+ */
+@Component
+public class UploadFileServer {
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    private static final String IMMUTABLE_CACHE = "public, max-age=31536000, immutable";
+    private static final String REVALIDATE_CACHE = "public, no-cache";
+
+    private final Path uploadPath;
+    private final ThumbnailService thumbnailService;
+    private final String mutableCacheControl;
+    private final long sendfileThreshold;
+
+    public UploadFileServer(ImageStorageService imageStorageService,
+                            ThumbnailService thumbnailService,
+                            @Value("${upload.serve.mutable-max-age:3600}") long mutableMaxAge,
+                            @Value("${upload.serve.sendfile-threshold:49152}") long sendfileThreshold) {
+        this.uploadPath = imageStorageService.getUploadPath();
+        this.thumbnailService = thumbnailService;
+        this.mutableCacheControl = "public, max-age=" + mutableMaxAge;
+        this.sendfileThreshold = sendfileThreshold;
+    }
+
+    public void serve(String relativePath, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path original = resolve(relativePath);
+        if (original == null || !Files.isRegularFile(original)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        int variant = variantFor(request.getParameter("size"));
+        Path file = original;
+        boolean fallback = false;
+        if (variant > 0) {
+            Path variantFile = ThumbnailService.variantPath(original, variant);
+            if (Files.isRegularFile(variantFile)) {
+                file = variantFile;
+            } else {
+                variant = 0;
+                fallback = true;
+            }
+        }
+
+        BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+        long length = attrs.size();
+        long lastModified = attrs.lastModifiedTime().toMillis();
+        String hash = ImageStorageService.hashOf("/uploads/" + relativePath);
+        String etag = hash != null
+            ? "\"" + hash + (variant > 0 ? "-" + variant : "") + "\""
+            : "\"" + Long.toHexString(lastModified) + "-" + Long.toHexString(length) + "\"";
+
+        response.setHeader("ETag", etag);
+        response.setDateHeader("Last-Modified", lastModified);
+        response.setHeader("Cache-Control", fallback ? REVALIDATE_CACHE : hash != null ? IMMUTABLE_CACHE : mutableCacheControl);
+        response.setHeader("Accept-Ranges", "bytes");
+
+        if (notModified(request, etag, lastModified)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        response.setContentType(contentType(file));
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader("Range");
+        if (range != null && ifRangeMatches(request, etag, lastModified)) {
+            long[] parsed = parseRange(range, length);
+            if (parsed == null) {
+                response.setHeader("Content-Range", "bytes */" + length);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (parsed.length == 2) {
+                start = parsed[0];
+                end = parsed[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader("Content-Range", "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod()) || count == 0) {
+            return;
+        }
+        write(file, start, count, request, response);
+    }
+
+    // 업로드 디렉터리 밖이나 숨김 경로(.tmp, 썸네일 임시 파일)는 서빙하지 않는다
+    private Path resolve(String relativePath) {
+        if (relativePath == null || relativePath.isEmpty() || relativePath.startsWith(".")
+            || relativePath.contains("/.") || relativePath.contains("\\")) {
+            return null;
+        }
+        Path path = uploadPath.resolve(relativePath).normalize();
+        return path.startsWith(uploadPath) ? path : null;
+    }
+
+    private int variantFor(String size) {
+        if (size == null) return 0;
+        try {
+            return thumbnailService.variantSizeFor(Integer.parseInt(size));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static boolean notModified(HttpServletRequest request, String etag, long lastModified) {
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        if (ifNoneMatch != null) {
+            // If-None-Match가 있으면 If-Modified-Since는 무시한다 (RFC 7232)
+            return etagListMatches(ifNoneMatch, etag);
+        }
+        long ifModifiedSince = dateHeader(request, "If-Modified-Since");
+        return ifModifiedSince >= 0 && lastModified / 1000 <= ifModifiedSince / 1000;
+    }
+
+    private static boolean ifRangeMatches(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader("If-Range");
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.trim().equals(etag);
+        }
+        long date = dateHeader(request, "If-Range");
+        return date >= 0 && lastModified / 1000 == date / 1000;
+    }
+
+    private static boolean etagListMatches(String header, String etag) {
+        for (String candidate : header.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long dateHeader(HttpServletRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * 단일 바이트 범위만 지원: 만족 가능하면 {start, end}, 만족 불가면 null,
+     * 형식이 다르거나 여러 범위면 빈 배열(전체 응답).
+     */
+    static long[] parseRange(String header, long length) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return new long[0];
+        }
+        String spec = header.substring(6).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return new long[0];
+        }
+        try {
+            long start;
+            long end;
+            if (dash == 0) {
+                // bytes=-N : 마지막 N바이트
+                long suffix = Long.parseLong(spec.substring(1));
+                if (suffix <= 0) return null;
+                start = Math.max(0, length - suffix);
+                end = length - 1;
+            } else {
+                start = Long.parseLong(spec.substring(0, dash));
+                end = dash == spec.length() - 1 ? length - 1 : Math.min(Long.parseLong(spec.substring(dash + 1)), length - 1);
+            }
+            if (start >= length || start > end) {
+                return null;
+            }
+            return new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+
+    private static String contentType(Path file) {
+        String name = file.getFileName().toString().toLowerCase();
+        if (name.endsWith(".png")) return ImageType.PNG.contentType();
+        if (name.endsWith(".jpg") || name.endsWith(".jpeg")) return ImageType.JPEG.contentType();
+        return "application/octet-stream";
+    }
+
+    private void write(Path file, long start, long count, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (count >= sendfileThreshold && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // 커넥터가 서블릿 반환 후 sendfile로 직접 보낸다 (사용자 공간 복사 없음)
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + count);
+            return;
+        }
+        ServletOutputStream out = response.getOutputStream();
+        WritableByteChannel target = Channels.newChannel(out);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long n = channel.transferTo(position, remaining, target);
+                if (n <= 0) break;
+                position += n;
+                remaining -= n;
+            }
+        }
+        out.flush();
+    }
+}
@@ -0,0 +1,55 @@
+-- 초기 스키마 (엔티티 매핑과 동일, prod 프로필에서 Flyway로 적용)
+
+create sequence users_seq start with 1 increment by 50;
+
+create table users (
+    id bigint not null,
+    email varchar(255) not null,
+    email_canonical varchar(255) not null,
+    password varchar(255) not null,
+    role varchar(255) not null,
+    name varchar(255) not null,
+    bio varchar(1000),
+    profile_image_url varchar(1000),
+    tech_stack varchar(500),
+    primary key (id),
+    constraint uk_users_email_canonical unique (email_canonical)
+);
+create index idx_users_role on users (role);
+create index idx_users_role_name on users (role, name, id);
+
+create table user_skills (
+    user_id bigint not null,
+    skill varchar(500) not null,
+    primary key (user_id, skill),
+    constraint fk_user_skills_user foreign key (user_id) references users (id)
+);
+create index idx_user_skills_skill on user_skills (skill);
+
+create table match_requests (
+    id bigint generated by default as identity,
+    mentor_id bigint not null,
+    mentee_id bigint not null,
+    message varchar(1000),
+    status varchar(20) not null,
+    version bigint,
+    created_at timestamp not null,
+    updated_at timestamp,
+    primary key (id),
+    constraint fk_match_requests_mentor foreign key (mentor_id) references users (id),
+    constraint fk_match_requests_mentee foreign key (mentee_id) references users (id)
+);
+create index idx_match_requests_mentor_status on match_requests (mentor_id, status);
+create index idx_match_requests_mentee_status on match_requests (mentee_id, status);
+
+create table image_blobs (
+    hash varchar(64) not null,
+    extension varchar(10) not null,
+    size bigint not null,
+    width integer not null,
+    height integer not null,
+    ref_count integer not null,
+    touched_at timestamp not null,
+    primary key (hash)
+);
+create index idx_image_blobs_ref_touched on image_blobs (ref_count, touched_at);
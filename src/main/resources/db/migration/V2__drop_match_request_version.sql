@@ -0,0 +1,2 @@
+-- 상태 전이는 조건부 UPDATE(현재 상태 조건)로만 하고 version을 비교하지 않으므로 컬럼을 뺀다
+alter table match_requests drop column version;
@@ -0,0 +1,43 @@
+package com.example.mentoring.controller;
+
+import com.example.mentoring.security.JwtTokenProvider;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "management.server.port=-1")
+@AutoConfigureMockMvc
+class AdminControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Test
+    void statsRequireAdminRole() throws Exception {
+        String mentor = jwtTokenProvider.generateToken(1L, "mentor1@example.com", "멘토1", "mentor");
+        String admin = jwtTokenProvider.generateToken(99L, "admin@example.com", "관리자", "admin");
+
+        for (String path : new String[]{"/api/admin/cache-stats", "/api/admin/thumbnail-stats"}) {
+            mockMvc.perform(get(path)).andExpect(status().isUnauthorized());
+            mockMvc.perform(get(path).header("Authorization", "Bearer " + mentor)).andExpect(status().isForbidden());
+            mockMvc.perform(get(path).header("Authorization", "Bearer " + admin)).andExpect(status().isOk());
+        }
+    }
+
+    @Test
+    void signupCannotCreateAdmin() throws Exception {
+        mockMvc.perform(post("/api/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"root@example.com\",\"password\":\"password1\",\"role\":\"admin\",\"name\":\"root\"}"))
+            .andExpect(status().isBadRequest());
+    }
+}
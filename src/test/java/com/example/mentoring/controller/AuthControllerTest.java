@@ -0,0 +1,79 @@
+package com.example.mentoring.controller;
+
+import com.example.mentoring.entity.User;
+import com.example.mentoring.security.JwtTokenProvider;
+import com.example.mentoring.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"management.server.port=-1", "security.bcrypt.strength=4"})
+@AutoConfigureMockMvc
+class AuthControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void bulkSignupRequiresAdminRole() throws Exception {
+        String body = "[{\"email\":\"bulk1@example.com\",\"password\":\"password1\",\"role\":\"mentee\",\"name\":\"일괄1\"},"
+            + "{\"email\":\"bulk2@example.com\",\"password\":\"password1\",\"role\":\"mentor\",\"name\":\"일괄2\"}]";
+        String mentee = jwtTokenProvider.generateToken(1L, "mentee1@example.com", "멘티1", "mentee");
+        String admin = jwtTokenProvider.generateToken(99L, "admin@example.com", "관리자", "admin");
+
+        mockMvc.perform(post("/api/auth/signup/bulk").contentType(MediaType.APPLICATION_JSON).content(body))
+            .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/auth/signup/bulk").contentType(MediaType.APPLICATION_JSON).content(body)
+                .header("Authorization", "Bearer " + mentee))
+            .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/auth/signup/bulk").contentType(MediaType.APPLICATION_JSON).content(body)
+                .header("Authorization", "Bearer " + admin))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.created").value(2));
+    }
+
+    @Test
+    void bulkSignupReportsNullRowAsFailure() throws Exception {
+        String body = "[null,{\"email\":[1]},{\"email\":\"bulk3@example.com\",\"password\":\"password1\",\"role\":\"mentee\",\"name\":\"일괄3\"}]";
+        String admin = jwtTokenProvider.generateToken(99L, "admin@example.com", "관리자", "admin");
+
+        mockMvc.perform(post("/api/auth/signup/bulk").contentType(MediaType.APPLICATION_JSON).content(body)
+                .header("Authorization", "Bearer " + admin))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.total").value(3))
+            .andExpect(jsonPath("$.created").value(1))
+            .andExpect(jsonPath("$.failed").value(2))
+            .andExpect(jsonPath("$.errors[0].index").value(0));
+    }
+
+    @Test
+    void profileUpdateRequiresOwner() throws Exception {
+        User owner = userService.registerUser("owner@example.com", "password1", "mentor", "주인");
+        String body = "{\"bio\":\"수정한 소개\"}";
+        String ownerToken = jwtTokenProvider.generateToken(owner.getId(), owner.getEmail(), owner.getName(), "mentor");
+        String other = jwtTokenProvider.generateToken(owner.getId() + 1000, "other@example.com", "다른사람", "mentor");
+
+        mockMvc.perform(put("/api/auth/profile/" + owner.getId()).contentType(MediaType.APPLICATION_JSON).content(body))
+            .andExpect(status().isUnauthorized());
+        mockMvc.perform(put("/api/auth/profile/" + owner.getId()).contentType(MediaType.APPLICATION_JSON).content(body)
+                .header("Authorization", "Bearer " + other))
+            .andExpect(status().isForbidden());
+        mockMvc.perform(put("/api/auth/profile/" + owner.getId()).contentType(MediaType.APPLICATION_JSON).content(body)
+                .header("Authorization", "Bearer " + ownerToken))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.bio").value("수정한 소개"));
+    }
+}
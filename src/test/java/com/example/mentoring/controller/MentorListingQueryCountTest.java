@@ -0,0 +1,65 @@
+package com.example.mentoring.controller;
+
+import com.example.mentoring.metrics.QueryBudget;
+import com.example.mentoring.metrics.QueryBudgetAdvice;
+import com.example.mentoring.service.MentorDirectoryCache;
+import com.example.mentoring.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static com.example.mentoring.metrics.QueryAssertions.expectAtMost;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 멘토 목록의 요청당 SQL 수가 @QueryBudget 이하인지 HTTP 수준(X-Query-Count)과 서비스 수준에서 확인한다.
+ */
+@SpringBootTest(properties = {"management.server.port=-1", "security.bcrypt.strength=4",
+    "metrics.query-budget.expose-header=true", "metrics.query-budget.strict=true"})
+@AutoConfigureMockMvc
+class MentorListingQueryCountTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private MentorDirectoryCache directoryCache;
+
+    @BeforeEach
+    void seedMentors() {
+        if (userService.findMentors(null, null, null, null, 1).getContent().isEmpty()) {
+            for (int i = 0; i < 30; i++) {
+                Long id = userService.registerUser("qc-mentor" + i + "@example.com", "password1", "mentor", "멘토" + i).getId();
+                userService.updateProfileFields(id, null, "소개 " + i, null, i % 2 == 0 ? "Java, Spring" : "React");
+            }
+        }
+        directoryCache.invalidatePages();
+    }
+
+    @Test
+    void mentorListStaysWithinQueryBudget() throws Exception {
+        int budget = AuthController.class.getMethod("getMentors", String.class, String.class, String.class,
+            String.class, Integer.class).getAnnotation(QueryBudget.class).value();
+        String[] queries = {"/api/auth/mentors?size=20", "/api/auth/mentors?size=20&sortBy=name",
+            "/api/auth/mentors?size=20&techStack=java", "/api/auth/mentors?size=20&techStack=java,react&match=any"};
+        for (String query : queries) {
+            MvcResult result = mockMvc.perform(get(query)).andExpect(status().isOk()).andReturn();
+            String count = result.getResponse().getHeader(QueryBudgetAdvice.QUERY_COUNT_HEADER);
+            assertThat(count).as(query).isNotNull();
+            assertThat(Integer.parseInt(count)).as(query).isLessThanOrEqualTo(budget);
+        }
+    }
+
+    @Test
+    void uncachedPageIsTwoStatements() {
+        expectAtMost(2, () -> userService.findMentors(null, null, "name", null, 20));
+    }
+}
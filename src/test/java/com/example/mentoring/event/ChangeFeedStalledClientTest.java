@@ -0,0 +1,155 @@
+package com.example.mentoring.event;
+
+import com.example.mentoring.dto.MentorResponse;
+import com.example.mentoring.dto.ProfileResponse;
+import com.example.mentoring.entity.User;
+import com.example.mentoring.security.JwtTokenProvider;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 전송 스레드 수(2)만큼 읽지 않는 클라이언트가 있어도 정상 클라이언트에게 이벤트가 계속 전달되는지 확인한다.
+ * 읽지 않는 연결은 소켓 버퍼가 차면 전송 스레드의 쓰기를 막으므로, send-timeout 뒤 끊기고 그 스레드 몫은 보충되어야 한다.
+ * 소켓 버퍼 크기는 OS마다 다르므로 두 연결이 모두 막혀 끊길 때까지 이벤트를 계속 발행한다.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "management.server.port=-1",
+    "events.sse.threads=2",
+    "events.sse.buffer-size=2048",
+    "events.sse.send-timeout=500ms",
+    "events.sse.stall-check-millis=100"})
+class ChangeFeedStalledClientTest {
+    private static final int BATCH = 50;
+    // 어떤 루프백 송수신 버퍼보다도 큰 양 (이만큼 보내도 막히지 않으면 실패)
+    private static final int MAX_EVENTS = 5000;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    private final List<Socket> sockets = new ArrayList<>();
+
+    @AfterEach
+    void closeSockets() throws IOException {
+        for (Socket socket : sockets) {
+            socket.close();
+        }
+    }
+
+    @Test
+    void neverReadingClientsDoNotStarveLiveOnes() throws Exception {
+        // 읽지 않는 클라이언트 둘 (수신 버퍼를 작게 잡아 서버 쓰기가 빨리 막히게 한다)
+        for (long id = 9001; id <= 9002; id++) {
+            Socket socket = new Socket();
+            socket.setReceiveBufferSize(1024);
+            socket.connect(new InetSocketAddress("localhost", port));
+            sockets.add(socket);
+            subscribe(socket, id);
+        }
+        // 정상 클라이언트 둘: 멘토 카드 이벤트 수를 센다
+        List<AtomicInteger> received = new ArrayList<>();
+        for (long id = 9101; id <= 9102; id++) {
+            Socket socket = new Socket("localhost", port);
+            sockets.add(socket);
+            subscribe(socket, id);
+            AtomicInteger count = new AtomicInteger();
+            received.add(count);
+            Thread reader = new Thread(() -> countMentorEvents(socket, count), "sse-reader-" + id);
+            reader.setDaemon(true);
+            reader.start();
+        }
+        awaitSubscribers(4);
+
+        // 이벤트 하나가 약 12KB
+        String bio = "가".repeat(4000);
+        Counter stalled = registry.counter("events.sse.evicted", "reason", "stalled");
+        int published = 0;
+        while (stalled.count() < 2 && published < MAX_EVENTS) {
+            for (int i = 0; i < BATCH; i++, published++) {
+                User mentor = new User("mentor" + published + "@example.com", "x", "mentor", "멘토" + published);
+                mentor.setBio(bio);
+                ProfileResponse profile = new ProfileResponse(100_000L + published, mentor.getEmail(), "mentor",
+                    mentor.getName(), bio, null, null);
+                eventPublisher.publishEvent(new ProfileChangedEvent(profile, new MentorResponse(mentor)));
+            }
+            Thread.sleep(50);
+        }
+        // 마지막 묶음을 보낸 뒤에 막힌 전송도 감지될 때까지 기다린다
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(15);
+        while (System.nanoTime() < deadline && stalled.count() < 2) {
+            Thread.sleep(50);
+        }
+        assertThat(stalled.count()).isEqualTo(2.0);
+        // 읽지 않는 두 연결만 끊기고 정상 연결은 남아 있다
+        assertThat(registry.get("events.sse.subscribers").gauge().value()).isEqualTo(2.0);
+
+        int expected = published;
+        while (System.nanoTime() < deadline
+            && (received.get(0).get() < expected || received.get(1).get() < expected)) {
+            Thread.sleep(50);
+        }
+        assertThat(received.get(0).get()).isEqualTo(expected);
+        assertThat(received.get(1).get()).isEqualTo(expected);
+    }
+
+    private void subscribe(Socket socket, long userId) throws IOException {
+        String token = jwtTokenProvider.generateToken(userId, "user" + userId + "@example.com", "사용자" + userId, "mentee");
+        String request = "GET /api/auth/events?mentors=true HTTP/1.1\r\n"
+            + "Host: localhost:" + port + "\r\n"
+            + "Accept: text/event-stream\r\n"
+            + "Authorization: Bearer " + token + "\r\n\r\n";
+        OutputStream out = socket.getOutputStream();
+        out.write(request.getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+
+    private static void countMentorEvents(Socket socket, AtomicInteger count) {
+        try {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.equals("event:mentor")) {
+                    count.incrementAndGet();
+                }
+            }
+        } catch (IOException e) {
+            // 테스트 종료 시 소켓을 닫는다
+        }
+    }
+
+    private void awaitSubscribers(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline && registry.get("events.sse.subscribers").gauge().value() < expected) {
+            Thread.sleep(20);
+        }
+        assertThat(registry.get("events.sse.subscribers").gauge().value()).isEqualTo(expected);
+    }
+}
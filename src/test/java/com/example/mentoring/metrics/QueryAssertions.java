@@ -0,0 +1,28 @@
+package com.example.mentoring.metrics;
+
+import java.util.function.Supplier;
+
+/**
+ * 쿼리 수 회귀 검사 (테스트 전용).
+ */
+public final class QueryAssertions {
+    private QueryAssertions() {
+    }
+
+    /**
+     * work가 실행하는 SQL이 max개 이하인지 확인한다.
+     * 넘으면 실행된 문장별 횟수를 담은 AssertionError.
+     */
+    public static <T> T expectAtMost(int max, Supplier<T> work) {
+        QueryCounter.Scope scope = QueryCounter.start(true);
+        try {
+            T result = work.get();
+            if (scope.count() > max) {
+                throw new AssertionError("SQL " + scope.count() + "개 실행 (허용 " + max + "개): " + scope.statements());
+            }
+            return result;
+        } finally {
+            QueryCounter.stop(scope);
+        }
+    }
+}
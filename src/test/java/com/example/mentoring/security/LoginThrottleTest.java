@@ -0,0 +1,38 @@
+package com.example.mentoring.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoginThrottleTest {
+
+    @Test
+    void retryAfterRoundsUpToWholeSeconds() {
+        assertThat(LoginThrottle.retryAfterSeconds(0)).isZero();
+        assertThat(LoginThrottle.retryAfterSeconds(1)).isEqualTo(1);
+        assertThat(LoginThrottle.retryAfterSeconds(999)).isEqualTo(1);
+        assertThat(LoginThrottle.retryAfterSeconds(1000)).isEqualTo(1);
+        assertThat(LoginThrottle.retryAfterSeconds(1001)).isEqualTo(2);
+        assertThat(LoginThrottle.retryAfterSeconds(59_001)).isEqualTo(60);
+    }
+
+    @Test
+    void emailLimitAppliesAcrossCaseVariants() {
+        LoginThrottle throttle = new LoginThrottle(100, 2, Duration.ofMinutes(1), 1000);
+        assertThat(throttle.check("10.0.0.1", "User@Example.com")).isZero();
+        assertThat(throttle.check("10.0.0.2", "user@example.com")).isZero();
+        long retryAfter = throttle.check("10.0.0.3", "USER@example.com");
+        assertThat(retryAfter).isBetween(1L, 120L);
+        assertThat(throttle.check("10.0.0.3", "someone@example.com")).isZero();
+    }
+
+    @Test
+    void ipLimitIsCheckedBeforeEmail() {
+        LoginThrottle throttle = new LoginThrottle(1, 100, Duration.ofMinutes(1), 1000);
+        assertThat(throttle.check("10.0.0.1", "a@example.com")).isZero();
+        assertThat(throttle.check("10.0.0.1", "b@example.com")).isPositive();
+        assertThat(throttle.check(null, "c@example.com")).isZero();
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.mentoring.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlidingWindowRateLimiterTest {
+    private static final long WINDOW = 1000;
+
+    @Test
+    void allowsUpToLimitWithinWindow() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(3, Duration.ofMillis(WINDOW), 100);
+        long start = 10 * WINDOW;
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("k", start + i)).isZero();
+        }
+        assertThat(limiter.tryAcquire("k", start + 3)).isPositive();
+        assertThat(limiter.tryAcquire("other", start + 3)).isZero();
+    }
+
+    @Test
+    void previousWindowWeightDecaysAfterRollover() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(10, Duration.ofMillis(WINDOW), 100);
+        long start = 10 * WINDOW;
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire("k", start)).isZero();
+        }
+        // 다음 윈도우 시작: 직전 10건이 가중치 1로 그대로 남아 있다
+        assertThat(limiter.tryAcquire("k", start + WINDOW)).isPositive();
+        // 윈도우의 절반이 지나면 직전 윈도우는 5건으로 계산되어 5건이 더 들어간다
+        long half = start + WINDOW + WINDOW / 2;
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("k", half)).isZero();
+        }
+        assertThat(limiter.tryAcquire("k", half)).isPositive();
+    }
+
+    @Test
+    void skippedWindowForgetsOldCount() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(2, Duration.ofMillis(WINDOW), 100);
+        long start = 10 * WINDOW;
+        limiter.tryAcquire("k", start);
+        limiter.tryAcquire("k", start);
+        assertThat(limiter.tryAcquire("k", start + 1)).isPositive();
+        // 윈도우 하나를 건너뛰면 직전 윈도우 카운트는 0
+        assertThat(limiter.tryAcquire("k", start + 2 * WINDOW)).isZero();
+        assertThat(limiter.tryAcquire("k", start + 2 * WINDOW)).isZero();
+    }
+
+    @Test
+    void waitIsExactWhenCurrentWindowIsFull() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(4, Duration.ofMillis(WINDOW), 100);
+        long start = 10 * WINDOW + 200;
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire("k", start);
+        }
+        long wait = limiter.tryAcquire("k", start);
+        // 남은 800ms + 다음 윈도우에서 직전 4건이 3건 이하로 줄어드는 250ms
+        assertThat(wait).isEqualTo(800 + 250);
+        assertThat(limiter.tryAcquire("k", start + wait - 1)).isPositive();
+        assertThat(limiter.tryAcquire("k", start + wait)).isZero();
+    }
+
+    @Test
+    void waitIsExactWhilePreviousWindowDecays() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(4, Duration.ofMillis(WINDOW), 100);
+        long start = 10 * WINDOW;
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire("k", start);
+        }
+        long next = start + WINDOW + 100;
+        long wait = limiter.tryAcquire("k", next);
+        // 직전 4건의 가중치가 3/4가 되는 250ms 시점까지
+        assertThat(wait).isEqualTo(150);
+        assertThat(limiter.tryAcquire("k", next + wait - 1)).isPositive();
+        assertThat(limiter.tryAcquire("k", next + wait)).isZero();
+    }
+
+    @Test
+    void keyCountIsBoundedByMaxKeys() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(5, Duration.ofMinutes(1), 50);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 1000; i++) {
+            limiter.tryAcquire("ip-" + i, now);
+        }
+        limiter.cleanUp();
+        assertThat(limiter.estimatedSize()).isLessThanOrEqualTo(50);
+    }
+}
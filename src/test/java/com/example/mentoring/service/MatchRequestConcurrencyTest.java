@@ -0,0 +1,237 @@
+package com.example.mentoring.service;
+
+import com.example.mentoring.dto.MatchRequestResponse;
+import com.example.mentoring.entity.User;
+import com.example.mentoring.event.MatchRequestChangedEvent;
+import com.example.mentoring.security.AuthenticatedUser;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 한 멘토의 대기 요청 전부에 대해 수락(요청당 2번)과 멘티 취소를 수백 스레드에서 동시에 보낸다.
+ * 어떤 순서로 끝나도 멘토당 accepted 행은 최대 하나이고, 수락이 있으면 대기 요청이 남지 않아야 한다.
+ * 수락과 동시에 새 요청이 생성되어도, 함께 거절된 요청은 모두 rejected 변경 알림을 받아야 한다.
+ * 같은 멘티가 같은 멘토에게 동시에 보낸 요청은 하나만 대기 상태로 남는다.
+ */
+@SpringBootTest(properties = {"management.server.port=-1", "security.bcrypt.strength=4"})
+class MatchRequestConcurrencyTest {
+    private static final int MENTEES = 150;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private MatchRequestService matchRequestService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RejectedEvents rejectedEvents;
+
+    @RepeatedTest(3)
+    void atMostOneAcceptedPerMentor() throws Exception {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        User mentorUser = userService.registerUser("mentor-" + run + "@example.com", "password1", "mentor", "멘토");
+        AuthenticatedUser mentor = principal(mentorUser);
+        List<AuthenticatedUser> mentees = new ArrayList<>();
+        List<Long> requestIds = new ArrayList<>();
+        for (int i = 0; i < MENTEES; i++) {
+            AuthenticatedUser mentee = principal(
+                userService.registerUser("mentee-" + run + "-" + i + "@example.com", "password1", "mentee", "멘티" + i));
+            mentees.add(mentee);
+            requestIds.add(matchRequestService.create(mentee, mentorUser.getId(), "요청 " + i).id);
+        }
+
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger acceptedCalls = new AtomicInteger();
+        List<Throwable> unexpected = Collections.synchronizedList(new ArrayList<>());
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < MENTEES; i++) {
+            Long id = requestIds.get(i);
+            AuthenticatedUser mentee = mentees.get(i);
+            for (int k = 0; k < 2; k++) {
+                tasks.add(race(start, unexpected, () -> {
+                    MatchRequestResponse r = matchRequestService.respond(mentor, id, "accepted");
+                    if ("accepted".equals(r.status)) acceptedCalls.incrementAndGet();
+                }));
+            }
+            tasks.add(race(start, unexpected, () -> matchRequestService.cancel(mentee, id)));
+        }
+        Collections.shuffle(tasks);
+
+        ExecutorService pool = Executors.newFixedThreadPool(tasks.size());
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (Callable<Void> task : tasks) futures.add(pool.submit(task));
+            start.countDown();
+            for (Future<Void> f : futures) f.get(60, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(unexpected).isEmpty();
+        int accepted = count(mentorUser.getId(), "ACCEPTED");
+        assertThat(accepted).isLessThanOrEqualTo(1);
+        assertThat(acceptedCalls.get()).isEqualTo(accepted);
+        if (accepted == 1) {
+            assertThat(count(mentorUser.getId(), "PENDING")).isZero();
+        }
+    }
+
+    @RepeatedTest(3)
+    void requestsRejectedByAcceptAreAllNotified() throws Exception {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        User mentorUser = userService.registerUser("mentor-" + run + "@example.com", "password1", "mentor", "멘토");
+        AuthenticatedUser mentor = principal(mentorUser);
+        List<AuthenticatedUser> mentees = new ArrayList<>();
+        for (int i = 0; i < MENTEES; i++) {
+            mentees.add(principal(
+                userService.registerUser("mentee-" + run + "-" + i + "@example.com", "password1", "mentee", "멘티" + i)));
+        }
+        Long first = matchRequestService.create(mentees.get(0), mentorUser.getId(), "첫 요청").id;
+
+        // 멘티들이 요청을 만드는 동안 멘토가 첫 요청을 수락한다
+        CountDownLatch start = new CountDownLatch(1);
+        List<Throwable> unexpected = Collections.synchronizedList(new ArrayList<>());
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 1; i < MENTEES; i++) {
+            AuthenticatedUser mentee = mentees.get(i);
+            tasks.add(race(start, unexpected, () -> matchRequestService.create(mentee, mentorUser.getId(), "요청")));
+        }
+        tasks.add(MENTEES / 2, race(start, unexpected, () -> matchRequestService.respond(mentor, first, "accepted")));
+
+        ExecutorService pool = Executors.newFixedThreadPool(tasks.size());
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (Callable<Void> task : tasks) futures.add(pool.submit(task));
+            start.countDown();
+            for (Future<Void> f : futures) f.get(60, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(unexpected).isEmpty();
+        Set<Long> rejected = new HashSet<>(jdbcTemplate.queryForList(
+            "select id from match_requests where mentor_id = ? and status = 'REJECTED'", Long.class, mentorUser.getId()));
+        assertThat(rejectedEvents.ids).containsAll(rejected);
+    }
+
+    @RepeatedTest(3)
+    void concurrentDuplicateCreatesLeaveOnePending() throws Exception {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        User mentorUser = userService.registerUser("mentor-" + run + "@example.com", "password1", "mentor", "멘토");
+        AuthenticatedUser mentee = principal(
+            userService.registerUser("mentee-" + run + "@example.com", "password1", "mentee", "멘티"));
+
+        // 같은 멘티가 같은 멘토에게 요청을 동시에 여러 번 보낸다
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger created = new AtomicInteger();
+        List<Throwable> unexpected = Collections.synchronizedList(new ArrayList<>());
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            tasks.add(race(start, unexpected, () -> {
+                matchRequestService.create(mentee, mentorUser.getId(), "요청");
+                created.incrementAndGet();
+            }));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(tasks.size());
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (Callable<Void> task : tasks) futures.add(pool.submit(task));
+            start.countDown();
+            for (Future<Void> f : futures) f.get(60, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(unexpected).isEmpty();
+        assertThat(created.get()).isEqualTo(1);
+        assertThat(count(mentorUser.getId(), "PENDING")).isEqualTo(1);
+    }
+
+    @Test
+    void createToMentorWithAcceptedMenteeIsConflict() {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        User mentorUser = userService.registerUser("mentor-" + run + "@example.com", "password1", "mentor", "멘토");
+        AuthenticatedUser first = principal(
+            userService.registerUser("mentee-" + run + "-1@example.com", "password1", "mentee", "멘티1"));
+        AuthenticatedUser second = principal(
+            userService.registerUser("mentee-" + run + "-2@example.com", "password1", "mentee", "멘티2"));
+        Long id = matchRequestService.create(first, mentorUser.getId(), "요청").id;
+        matchRequestService.respond(principal(mentorUser), id, "accepted");
+
+        assertThatThrownBy(() -> matchRequestService.create(second, mentorUser.getId(), "요청"))
+            .isInstanceOf(IllegalStateException.class);
+        assertThat(count(mentorUser.getId(), "PENDING")).isZero();
+    }
+
+    // 시작 신호를 기다렸다가 실행. 상태 충돌(409)은 정상적인 경쟁 결과로 본다
+    private static Callable<Void> race(CountDownLatch start, List<Throwable> unexpected, Runnable action) {
+        return () -> {
+            start.await();
+            try {
+                action.run();
+            } catch (IllegalStateException expected) {
+                // 이미 처리된 요청 / 이미 수락한 멘티가 있음
+            } catch (Throwable t) {
+                unexpected.add(t);
+            }
+            return null;
+        };
+    }
+
+    private int count(Long mentorId, String status) {
+        return jdbcTemplate.queryForObject(
+            "select count(*) from match_requests where mentor_id = ? and status = ?", Integer.class, mentorId, status);
+    }
+
+    private static AuthenticatedUser principal(User user) {
+        return new AuthenticatedUser(user.getId(), user.getEmail(), user.getName(), user.getRole());
+    }
+
+    // 커밋된 rejected 변경 알림의 요청 id
+    static class RejectedEvents {
+        final Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+        @TransactionalEventListener(fallbackExecution = true)
+        public void on(MatchRequestChangedEvent event) {
+            if ("rejected".equals(event.getRequest().status)) {
+                ids.add(event.getRequest().id);
+            }
+        }
+    }
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        RejectedEvents rejectedEvents() {
+            return new RejectedEvents();
+        }
+    }
+}
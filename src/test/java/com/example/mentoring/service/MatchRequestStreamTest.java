@@ -0,0 +1,63 @@
+package com.example.mentoring.service;
+
+import com.example.mentoring.dto.MatchRequestResponse;
+import com.example.mentoring.entity.User;
+import com.example.mentoring.security.AuthenticatedUser;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 매칭 요청 목록은 청크(여기서는 2건)로 나눠 읽고, 소비하는 쪽(응답 쓰기)이 요소를 받는 동안에는
+ * 트랜잭션도 풀 커넥션도 잡고 있지 않아야 한다.
+ */
+@SpringBootTest(properties = {"management.server.port=-1", "security.bcrypt.strength=4", "match.list.chunk-size=2"})
+class MatchRequestStreamTest {
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private MatchRequestService matchRequestService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void incomingListIsReadInChunksWithoutHoldingAConnection() {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        User mentor = userService.registerUser("mentor-" + run + "@example.com", "password1", "mentor", "멘토");
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            AuthenticatedUser mentee = principal(
+                userService.registerUser("mentee-" + run + "-" + i + "@example.com", "password1", "mentee", "멘티" + i));
+            created.add(0, matchRequestService.create(mentee, mentor.getId(), "요청 " + i).id);
+        }
+
+        List<Long> listed = new ArrayList<>();
+        try (Stream<MatchRequestResponse> rows = matchRequestService.streamIncoming(principal(mentor))) {
+            Iterator<MatchRequestResponse> it = rows.iterator();
+            while (it.hasNext()) {
+                listed.add(it.next().id);
+                assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isFalse();
+                assertThat(((HikariDataSource) dataSource).getHikariPoolMXBean().getActiveConnections()).isZero();
+            }
+        }
+        // 최신순, 청크 경계에서 빠지거나 겹치는 요청 없음
+        assertThat(listed).isEqualTo(created);
+    }
+
+    private static AuthenticatedUser principal(User user) {
+        return new AuthenticatedUser(user.getId(), user.getEmail(), user.getName(), user.getRole());
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.mentoring.service;
+
+import com.example.mentoring.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MentorSearchIndexTest {
+    private UserRepository userRepository;
+    private MentorSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        index = new MentorSearchIndex();
+        ReflectionTestUtils.setField(index, "userRepository", userRepository);
+    }
+
+    @Test
+    void rebuildLoadsMentorsFromRepository() {
+        when(userRepository.findSearchDocuments("mentor")).thenReturn(rows(
+            new Object[]{1L, "김자바", "백엔드", "Java, Spring"},
+            new Object[]{2L, "이리액트", "프론트엔드", "React"}));
+        index.afterSingletonsInstantiated();
+
+        assertThat(index.search("spring", 0, 10)).containsExactly(1L);
+        assertThat(index.search("react", 0, 10)).containsExactly(2L);
+    }
+
+    @Test
+    void writesDuringRebuildSurviveTheSwap() {
+        // 재구성이 DB를 읽는 도중(스냅샷 이후) 멘토 3이 새로 색인되고 멘토 1이 내용을 바꾼다
+        when(userRepository.findSearchDocuments("mentor")).thenAnswer(invocation -> {
+            index.index(3L, "박코틀린", "안드로이드", "Kotlin");
+            index.index(1L, "김자바", "백엔드", "Go");
+            return rows(new Object[]{1L, "김자바", "백엔드", "Java, Spring"},
+                new Object[]{2L, "이리액트", "프론트엔드", "React"});
+        });
+        index.rebuild();
+
+        assertThat(index.search("kotlin", 0, 10)).containsExactly(3L);
+        assertThat(index.search("go", 0, 10)).containsExactly(1L);
+        assertThat(index.search("spring", 0, 10)).isEmpty();
+        assertThat(index.search("react", 0, 10)).containsExactly(2L);
+    }
+
+    @Test
+    void removeDuringRebuildSurvivesTheSwap() {
+        index.index(2L, "이리액트", "프론트엔드", "React");
+        when(userRepository.findSearchDocuments("mentor")).thenAnswer(invocation -> {
+            index.remove(2L);
+            return rows(new Object[]{2L, "이리액트", "프론트엔드", "React"});
+        });
+        index.rebuild();
+
+        assertThat(index.search("react", 0, 10)).isEmpty();
+        // 재구성이 끝나면 기록을 멈춘다
+        index.index(4L, "최스위프트", "iOS", "Swift");
+        assertThat(index.search("swift", 0, 10)).containsExactly(4L);
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        List<Object[]> list = new ArrayList<>();
+        for (Object[] row : rows) list.add(row);
+        return list;
+    }
+}
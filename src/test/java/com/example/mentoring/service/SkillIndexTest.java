@@ -0,0 +1,65 @@
+package com.example.mentoring.service;
+
+import com.example.mentoring.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SkillIndexTest {
+    private UserRepository userRepository;
+    private MentorDirectoryCache directoryCache;
+    private SkillIndex index;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        directoryCache = mock(MentorDirectoryCache.class);
+        index = new SkillIndex();
+        ReflectionTestUtils.setField(index, "userRepository", userRepository);
+        ReflectionTestUtils.setField(index, "directoryCache", directoryCache);
+    }
+
+    @Test
+    void rebuildLoadsPostingsAndInvalidatesPages() {
+        when(userRepository.findSkillPostings("mentor")).thenReturn(rows(
+            new Object[]{"java", 1L}, new Object[]{"java", 2L}, new Object[]{"react", 2L}));
+        index.afterSingletonsInstantiated();
+
+        assertThat(index.matchAll(List.of("java", "react"))).containsExactly(2L);
+        assertThat(index.matchAny(List.of("java"))).containsExactly(1L, 2L);
+        verify(directoryCache).invalidatePages();
+    }
+
+    @Test
+    void updatesDuringRebuildSurviveTheSwap() {
+        // 재구성이 DB를 읽는 도중(스냅샷 이후) 멘토 3이 java를 추가하고 멘토 1이 java를 뺀다
+        when(userRepository.findSkillPostings("mentor")).thenAnswer(invocation -> {
+            index.update(3L, Set.of(), Set.of("java"));
+            index.update(1L, Set.of("java"), Set.of("go"));
+            return rows(new Object[]{"java", 1L}, new Object[]{"java", 2L});
+        });
+        index.rebuild();
+
+        assertThat(index.matchAny(List.of("java"))).containsExactly(2L, 3L);
+        assertThat(index.matchAny(List.of("go"))).containsExactly(1L);
+
+        // 재구성이 끝나면 기록을 멈춘다
+        index.update(4L, Set.of(), Set.of("swift"));
+        assertThat(index.matchAny(List.of("swift"))).containsExactly(4L);
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        List<Object[]> list = new ArrayList<>();
+        for (Object[] row : rows) list.add(row);
+        return list;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.mentoring.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "management.server.port=-1")
+@AutoConfigureMockMvc
+class UploadFileServerTest {
+    private static final String HASH = "ab".repeat(32);
+    private static final String PATH = "ab/ab/" + HASH + ".png";
+
+    @TempDir
+    static Path uploadDir;
+
+    @DynamicPropertySource
+    static void uploadProperties(DynamicPropertyRegistry registry) {
+        registry.add("upload.dir", uploadDir::toString);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void thumbnailFallbackIsRevalidatedUntilVariantExists() throws Exception {
+        Path original = uploadDir.resolve(PATH);
+        Files.createDirectories(original.getParent());
+        Files.write(original, new byte[]{1, 2, 3, 4});
+
+        mockMvc.perform(get("/uploads/" + PATH))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Cache-Control", "public, max-age=31536000, immutable"));
+
+        // 썸네일이 아직 없으면 원본으로 대신하되 캐시에 고정되지 않아야 한다
+        mockMvc.perform(get("/uploads/" + PATH).param("size", "64"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", "\"" + HASH + "\""))
+            .andExpect(header().string("Cache-Control", "public, no-cache"));
+
+        Files.write(ThumbnailService.variantPath(original, 64), new byte[]{5, 6});
+        mockMvc.perform(get("/uploads/" + PATH).param("size", "64").header("If-None-Match", "\"" + HASH + "\""))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", "\"" + HASH + "-64\""))
+            .andExpect(header().string("Cache-Control", "public, max-age=31536000, immutable"));
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.mentoring.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * upload.image.max-bytes를 넘는 파일은 컨테이너의 multipart 파싱 단계에서 400으로 거절된다
+ * (MockMvc는 multipart를 파싱하지 않으므로 실제 서버로 보낸다).
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {"management.server.port=-1", "upload.image.max-bytes=4096"})
+class UploadSizeLimitTest {
+    @TempDir
+    static Path uploadDir;
+
+    @DynamicPropertySource
+    static void uploadProperties(DynamicPropertyRegistry registry) {
+        registry.add("upload.dir", uploadDir::toString);
+    }
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void fileOverImageLimitIsRejectedWhileParsing() {
+        ResponseEntity<Map> response = upload(new byte[8192]);
+
+        assertThat(response.getStatusCodeValue()).isEqualTo(400);
+        assertThat(response.getBody()).containsEntry("message", "파일 크기가 업로드 한도를 넘었습니다.");
+    }
+
+    @Test
+    void fileWithinLimitReachesValidation() {
+        // 한도 안의 파일은 저장소의 형식 검증까지 간다
+        ResponseEntity<Map> response = upload(new byte[1024]);
+
+        assertThat(response.getStatusCodeValue()).isEqualTo(400);
+        assertThat(response.getBody()).containsEntry("message", ".jpg 또는 .png 파일만 업로드 가능합니다.");
+    }
+
+    private ResponseEntity<Map> upload(byte[] content) {
+        MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
+        body.add("file", new ByteArrayResource(content) {
+            @Override
+            public String getFilename() {
+                return "avatar.png";
+            }
+        });
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+        return restTemplate.postForEntity("/api/auth/profile/upload", new HttpEntity<>(body, headers), Map.class);
+    }
+}